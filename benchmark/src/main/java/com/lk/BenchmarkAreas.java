@@ -0,0 +1,44 @@
+package com.lk;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试用的高亮区域数据
+ */
+final class BenchmarkAreas {
+
+    // 区域均匀铺满 00:00-20:00，20:00 之后留空，用于测量“不在任何区域内”的情况
+    static final int COVERED_MINUTES = 20 * 60;
+
+    private static final Color[] COLORS = {
+            new Color(0xDD, 0x75, 0x00), new Color(0x33, 0xAA, 0x00), new Color(0x33, 0x77, 0xDD)
+    };
+
+    private BenchmarkAreas() {}
+
+    /**
+     * 生成首尾相接的 count 个区域（count 不超过 COVERED_MINUTES，保证每个区域至少 1 分钟）
+     */
+    static List<AnalogClock.HighlightSetting> create(int count) {
+        List<AnalogClock.HighlightSetting> areas = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = i * COVERED_MINUTES / count;
+            int end = (i + 1) * COVERED_MINUTES / count;
+            areas.add(new AnalogClock.HighlightSetting(start / 60, start % 60, end / 60, end % 60,
+                    COLORS[i % COLORS.length], "区域" + i, Color.WHITE));
+        }
+        return areas;
+    }
+
+    /**
+     * 以默认配置创建渲染器并替换为指定数量的区域
+     */
+    static ClockRenderer createRenderer(int count, float scale) {
+        ClockRenderer renderer = new ClockRenderer(new ClockConfig());
+        renderer.setScale(scale);
+        renderer.setHighlightAreas(create(count));
+        return renderer;
+    }
+}
@@ -0,0 +1,22 @@
+package com.lk;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口：接受标准 JMH 命令行参数，并默认启用 GC 分析器（同时报告 time/op 和分配速率）
+ * 用法：java -jar benchmark/target/benchmarks.jar [JMH 参数，如 RenderBenchmark -p scale=1.0]
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
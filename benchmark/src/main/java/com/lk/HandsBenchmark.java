@@ -0,0 +1,58 @@
+package com.lk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 指针层绘制（三根指针和中心点）：每帧描边、旋转贴图预渲染的指针贴图、软件光栅化三种方式对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class HandsBenchmark {
+
+    @Param({"0.5", "1.0", "2.0"})
+    public float scale;
+
+    @Param({"STROKE", "SPRITE", "RASTER"})
+    public ClockRenderer.HandRenderMode mode;
+
+    private ClockRenderer renderer;
+    private BufferedImage target;
+    private Graphics2D g2d;
+    private LocalTime[] frameTimes;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        renderer = BenchmarkAreas.createRenderer(3, scale);
+        renderer.setHandRenderMode(mode);
+        int size = renderer.getClockSize();
+        target = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        g2d = target.createGraphics();
+        // 60fps 下一秒内的各帧时刻（秒针每帧转过不同角度）
+        frameTimes = new LocalTime[60];
+        for (int i = 0; i < frameTimes.length; i++) {
+            frameTimes[i] = LocalTime.of(10, 8, 30, i * 16_666_667);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage hands() {
+        renderer.paintHands(g2d, frameTimes[frame]);
+        frame = (frame + 1) % frameTimes.length;
+        return target;
+    }
+}
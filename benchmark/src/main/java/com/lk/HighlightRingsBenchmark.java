@@ -0,0 +1,55 @@
+package com.lk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 高亮圆环绘制（不经过静态图层）：区域数量、是否有活跃区域、是否有悬停区域
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class HighlightRingsBenchmark {
+
+    @Param({"3", "30", "300", "1000"})
+    public int areaCount;
+
+    @Param({"true", "false"})
+    public boolean active;
+
+    @Param({"true", "false"})
+    public boolean hovered;
+
+    private ClockRenderer renderer;
+    private Graphics2D g2d;
+    private LocalTime time;
+
+    @Setup
+    public void setUp() {
+        renderer = BenchmarkAreas.createRenderer(areaCount, 1.0f);
+        int size = renderer.getClockSize();
+        g2d = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE).createGraphics();
+        // 10:00 落在某个区域内；22:00 不在任何区域内
+        time = active ? LocalTime.of(10, 0) : LocalTime.of(22, 0);
+        if (hovered) {
+            renderer.setHoveredSetting(renderer.getHighlightAreas().get(areaCount / 3));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public void drawHighlightRings() {
+        renderer.paintHighlightRings(g2d, time);
+    }
+}
@@ -0,0 +1,47 @@
+package com.lk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 鼠标悬停命中测试：鼠标在表盘上移动时每个事件都会执行一次
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class HitTestBenchmark {
+
+    @Param({"3", "30", "300", "1000"})
+    public int areaCount;
+
+    private static final int POINT_COUNT = 1024;
+
+    private ClockRenderer renderer;
+    private final int[] xs = new int[POINT_COUNT];
+    private final int[] ys = new int[POINT_COUNT];
+    private int point;
+
+    @Setup
+    public void setUp() {
+        renderer = BenchmarkAreas.createRenderer(areaCount, 1.0f);
+        // 沿圆环半径均匀取点，覆盖命中和未命中两种情况
+        int center = renderer.getClockSize() / 2;
+        double radius = center * 0.7;
+        for (int i = 0; i < POINT_COUNT; i++) {
+            double angle = 2 * Math.PI * i / POINT_COUNT;
+            xs[i] = (int) Math.round(center + radius * Math.cos(angle));
+            ys[i] = (int) Math.round(center + radius * Math.sin(angle));
+        }
+    }
+
+    @Benchmark
+    public AnalogClock.HighlightSetting findHighlightSettingAt() {
+        int i = point;
+        point = (i + 1) & (POINT_COUNT - 1);
+        return renderer.findHighlightSettingAt(xs[i], ys[i]);
+    }
+}
@@ -0,0 +1,71 @@
+package com.lk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 整帧渲染：稳态帧（静态图层命中）和冷帧（每次重建静态图层）
+ * detail 为 AUTO 时按像素尺寸自动选择细节层级，其余取值强制使用对应层级
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({"0.5", "1.0", "2.0"})
+    public float scale;
+
+    @Param({"AUTO", "LOW", "MEDIUM", "HIGH"})
+    public String detail;
+
+    private ClockRenderer renderer;
+    private BufferedImage target;
+    private Graphics2D g2d;
+    private LocalTime[] frameTimes;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        renderer = BenchmarkAreas.createRenderer(3, scale);
+        renderer.setForcedDetailLevel("AUTO".equals(detail) ? null : ClockRenderer.DetailLevel.valueOf(detail));
+        int size = renderer.getClockSize();
+        target = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        g2d = target.createGraphics();
+        // 60fps 下一秒内的各帧时刻，位于第一个区域内（活跃区域每帧发光绘制）
+        frameTimes = new LocalTime[60];
+        for (int i = 0; i < frameTimes.length; i++) {
+            frameTimes[i] = LocalTime.of(3, 30, 15, i * 16_666_667);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage steadyFrame() {
+        renderer.paint(g2d, nextFrameTime());
+        return target;
+    }
+
+    @Benchmark
+    public BufferedImage coldFrame() {
+        renderer.invalidateStaticLayer();
+        renderer.paint(g2d, nextFrameTime());
+        return target;
+    }
+
+    private LocalTime nextFrameTime() {
+        LocalTime time = frameTimes[frame];
+        frame = (frame + 1) % frameTimes.length;
+        return time;
+    }
+}
@@ -0,0 +1,62 @@
+package com.lk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 触发检测：轮询时每秒一次遍历全部区域判断进入/退出/间隔；事件驱动时只在下一个截止时刻处理到期的区域
+ * 区域的触发动作均为 none，只测量检测和状态维护本身
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TriggerBenchmark {
+
+    @Param({"3", "100", "1000"})
+    public int areaCount;
+
+    private TimeRangeMonitor monitor;
+    private final LocalTime[] minutes = new LocalTime[24 * 60];
+    private int minute;
+    private long currentTimeMillis;
+
+    private TriggerScheduler scheduler;
+    private long nextDeadline;
+
+    @Setup
+    public void setUp() {
+        monitor = new TimeRangeMonitor(HighlightSchedule.of(BenchmarkAreas.create(areaCount)), new ActivityTracker());
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = LocalTime.of(i / 60, i % 60);
+        }
+        scheduler = new TimeRangeMonitor(HighlightSchedule.of(BenchmarkAreas.create(areaCount)), new ActivityTracker())
+                .getScheduler();
+        nextDeadline = scheduler.advance(System.currentTimeMillis());
+    }
+
+    /**
+     * 每次调用推进一分钟，一天内经历所有区域的进入和退出
+     */
+    @Benchmark
+    public void checkAndTrigger() {
+        int i = minute;
+        minute = (i + 1) % minutes.length;
+        currentTimeMillis += 60_000L;
+        monitor.checkAndTrigger(minutes[i], currentTimeMillis);
+    }
+
+    /**
+     * 事件驱动：每次调用直接跳到下一个截止时刻，处理到期的区域并重新入堆
+     * 一天的开销为（每天的截止时刻数 × 本项），轮询为（86400 × checkAndTrigger）
+     */
+    @Benchmark
+    public long advanceToNextDeadline() {
+        nextDeadline = scheduler.advance(nextDeadline);
+        return nextDeadline;
+    }
+}
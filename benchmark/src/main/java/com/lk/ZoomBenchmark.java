@@ -0,0 +1,66 @@
+package com.lk;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 滚轮缩放：每次操作切换到相邻的缩放档位（0.5 到 2.0 往返）并绘制一帧
+ * cached=true 时所有档位的静态图层已在缓存中，false 时关闭图层缓存（每格都重建静态图层）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ZoomBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private ClockRenderer renderer;
+    private BufferedImage target;
+    private Graphics2D g2d;
+    private LocalTime time;
+    private int step;
+    private int direction = 1;
+
+    @Setup
+    public void setUp() {
+        renderer = BenchmarkAreas.createRenderer(3, 1.0f);
+        int maxSize = (int) (ClockRenderer.BASE_CLOCK_SIZE * ScaleLayerCache.MAX_SCALE);
+        target = new BufferedImage(maxSize, maxSize, BufferedImage.TYPE_INT_ARGB_PRE);
+        g2d = target.createGraphics();
+        time = LocalTime.of(3, 30, 15);
+        if (cached) {
+            // 每个档位先绘制一帧，填满图层缓存
+            for (int i = 0; i < ScaleLayerCache.SCALE_STEPS; i++) {
+                renderer.setScale(ScaleLayerCache.bucketScale(i));
+                renderer.paint(g2d, time);
+            }
+        } else {
+            renderer.setLayerCacheCapacity(0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println(renderer.getLayerCacheStats());
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage wheelNotch() {
+        if (step + direction < 0 || step + direction >= ScaleLayerCache.SCALE_STEPS) {
+            direction = -direction;
+        }
+        step += direction;
+        renderer.setScale(ScaleLayerCache.bucketScale(step));
+        renderer.paint(g2d, time);
+        return target;
+    }
+}
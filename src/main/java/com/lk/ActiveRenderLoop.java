@@ -0,0 +1,232 @@
+package com.lk;
+
+import javax.swing.JComponent;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.time.LocalTime;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 主动渲染循环：独立的渲染线程按 nanoTime 节奏把表盘画到离屏缓冲，EDT 每帧只做一次贴图
+ * - 透明异形窗口不支持 BufferStrategy 翻页，这里用三缓冲：渲染线程独占 back，EDT 独占 front，ready 在两者之间交换
+ * - 秒针按预计的显示时刻计算（开始绘制时刻 + 绘制到贴图的平滑延迟），而不是开始绘制的时刻
+ * - TICK / MINUTE 策略下让画面恰好在整秒 / 整分钟显示
+ * - 缓冲按目标屏幕的设备缩放分配（HiDPI 下按设备像素绘制），贴图时抵消设备缩放，图像像素与设备像素一一对应
+ * EDT 忙碌（设置对话框、托盘菜单、提醒弹窗）时渲染线程照常出帧，EDT 空闲后直接贴最新的一帧
+ */
+class ActiveRenderLoop {
+
+    private static final long SMOOTH_FRAME_NANOS = 1_000_000_000L / 60;
+    // 显示延迟估计的上限：EDT 长时间阻塞的样本不应让秒针提前
+    private static final long MAX_PRESENT_LATENCY_NANOS = 50_000_000L;
+    // 整秒 / 整分钟对齐时在边界之后多留的余量
+    private static final long BOUNDARY_SLACK_NANOS = 1_000_000L;
+
+    private final ClockRenderer renderer;
+    private final JComponent target;
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    // 三缓冲：back 只在渲染线程访问，front 只在 EDT 访问，ready 和 readyFresh 受 this 锁保护
+    // 每个缓冲的设备缩放随缓冲一起交换
+    private BufferedImage back;
+    private BufferedImage ready;
+    private BufferedImage front;
+    private double backScale = 1;
+    private double readyScale = 1;
+    private double frontScale = 1;
+    private boolean readyFresh = false;
+    private long readyRenderStart;
+
+    // 从开始绘制到贴图的延迟（指数平滑），只在 EDT 更新
+    private volatile long presentLatencyNanos = SMOOTH_FRAME_NANOS;
+    // 贴图时保存 EDT 的变换（复用，避免每帧分配）
+    private final AffineTransform savedTransform = new AffineTransform();
+
+    ActiveRenderLoop(ClockRenderer renderer, JComponent target) {
+        this.renderer = renderer;
+        this.target = target;
+    }
+
+    void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "clock-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        Thread t = thread;
+        thread = null;
+        if (t != null) {
+            LockSupport.unpark(t);
+            try {
+                // 等待正在进行的一帧结束，避免与下次 start 的线程同时使用缓冲
+                t.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 立即绘制一帧（配置、悬停、Toast 变化时调用），不必等到下一个节拍
+     */
+    void requestFrame() {
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    /**
+     * 贴上最新完成的一帧（在 EDT 的 paintComponent 中调用），还没有任何帧时不绘制
+     */
+    void drawFrame(Graphics2D g2d) {
+        BufferedImage frame = takeFrame();
+        if (frame == null) {
+            return;
+        }
+        if (frontScale == 1) {
+            g2d.drawImage(frame, 0, 0, null);
+            return;
+        }
+        // 抵消设备缩放，缓冲像素与设备像素一一对应
+        savedTransform.setTransform(g2d.getTransform());
+        g2d.scale(1 / frontScale, 1 / frontScale);
+        g2d.drawImage(frame, 0, 0, null);
+        g2d.setTransform(savedTransform);
+    }
+
+    /**
+     * 取出最新完成的一帧，还没有任何帧时返回 null
+     */
+    private BufferedImage takeFrame() {
+        long renderStart = 0;
+        boolean fresh;
+        synchronized (this) {
+            fresh = readyFresh;
+            if (fresh) {
+                BufferedImage previous = front;
+                front = ready;
+                ready = previous;
+                double previousScale = frontScale;
+                frontScale = readyScale;
+                readyScale = previousScale;
+                readyFresh = false;
+                renderStart = readyRenderStart;
+            }
+        }
+        if (fresh) {
+            long sample = Math.min(System.nanoTime() - renderStart, MAX_PRESENT_LATENCY_NANOS);
+            presentLatencyNanos = (presentLatencyNanos * 7 + sample) / 8;
+        }
+        return front;
+    }
+
+    private void run() {
+        long deadline = System.nanoTime();
+        while (running) {
+            long wait = deadline - System.nanoTime();
+            if (wait > 0) {
+                // requestFrame 会提前唤醒
+                LockSupport.parkNanos(this, wait);
+                if (!running) {
+                    break;
+                }
+            }
+
+            // 每帧只读取一次渲染模型，缓冲尺寸、绘制内容和下一帧节拍都来自同一个快照
+            RenderModel model = renderer.getModel();
+            long renderStart = System.nanoTime();
+            long latency = presentLatencyNanos;
+            renderFrame(model, LocalTime.now().plusNanos(latency), renderStart);
+            target.repaint();
+
+            deadline = nextDeadline(model.renderPolicy(), deadline, renderStart, latency);
+        }
+    }
+
+    /**
+     * 计算下一帧开始绘制的时刻
+     */
+    private long nextDeadline(RenderScheduler.RenderPolicy policy, long previousDeadline, long now, long latency) {
+        switch (policy) {
+            case TICK:
+                return now + untilNextBoundary(1000, latency);
+            case MINUTE:
+                return now + untilNextBoundary(60_000, latency);
+            default:
+                // 固定节拍；落后超过一帧时不追帧，从当前时刻重新计时
+                long next = previousDeadline + SMOOTH_FRAME_NANOS;
+                return next < now ? now + SMOOTH_FRAME_NANOS : next;
+        }
+    }
+
+    /**
+     * 距离下一次开始绘制的时间：以本帧的显示时刻为基准找到下一个整秒 / 整分钟边界，再提前一个显示延迟开始绘制
+     */
+    private static long untilNextBoundary(long periodMillis, long latency) {
+        long presentMillis = System.currentTimeMillis() + latency / 1_000_000L;
+        return (periodMillis - presentMillis % periodMillis) * 1_000_000L + BOUNDARY_SLACK_NANOS;
+    }
+
+    private void renderFrame(RenderModel model, LocalTime presentTime, long renderStart) {
+        int size = model.clockSize();
+        GraphicsConfiguration gc = target.getGraphicsConfiguration();
+        double deviceScale = deviceScale(gc);
+        int deviceSize = (int) Math.ceil(size * deviceScale);
+        if (back == null || back.getWidth() != deviceSize || backScale != deviceScale) {
+            back = createBuffer(gc, deviceSize);
+            backScale = deviceScale;
+        }
+
+        Graphics2D g2d = back.createGraphics();
+        try {
+            g2d.setComposite(AlphaComposite.Clear);
+            g2d.fillRect(0, 0, deviceSize, deviceSize);
+            g2d.setComposite(AlphaComposite.SrcOver);
+            if (deviceScale != 1) {
+                // 按设备缩放绘制：渲染器从变换得到设备缩放，图层和指针都按设备像素生成
+                g2d.scale(deviceScale, deviceScale);
+            }
+            renderer.paint(g2d, presentTime, model);
+        } finally {
+            g2d.dispose();
+        }
+
+        synchronized (this) {
+            BufferedImage previous = ready;
+            ready = back;
+            back = previous;
+            double previousScale = readyScale;
+            readyScale = backScale;
+            backScale = previousScale;
+            readyFresh = true;
+            readyRenderStart = renderStart;
+        }
+    }
+
+    /**
+     * 目标屏幕的设备缩放（HiDPI），还没有显示时为 1
+     */
+    private static double deviceScale(GraphicsConfiguration gc) {
+        if (gc == null) {
+            return 1;
+        }
+        AffineTransform transform = gc.getDefaultTransform();
+        return Math.max(Math.abs(transform.getScaleX()), Math.abs(transform.getScaleY()));
+    }
+
+    private BufferedImage createBuffer(GraphicsConfiguration gc, int size) {
+        return gc != null
+                ? gc.createCompatibleImage(size, size, Transparency.TRANSLUCENT)
+                : new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
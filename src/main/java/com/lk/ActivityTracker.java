@@ -0,0 +1,165 @@
+package com.lk;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.MouseInfo;
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 用户活动跟踪：记录最近一次键盘、鼠标或滚轮操作的时刻，超过 IDLE_THRESHOLD 没有操作视为空闲
+ * - 全局钩子可用时（GlobalHotkeyManager 注册成功）由钩子线程在每个原生事件上调用 recordActivity：
+ *   只写一个 volatile 时间戳，不加锁、不分配对象；只打字不动鼠标也算活跃
+ * - 钩子不可用时退回每秒查询一次鼠标位置（只有鼠标移动算活跃）
+ * 空闲的判定不靠轮询：定时器只在“最后一次操作 + 阈值”时刻醒来，期间有新操作就顺延；
+ * 从空闲恢复由恢复后的第一个事件触发。状态变化在 EDT 上通知监听者
+ * isActive / isIdle 可在任意线程调用
+ */
+final class ActivityTracker {
+
+    static final long IDLE_THRESHOLD = 5 * 60 * 1000; // 5 分钟无操作视为空闲
+    // 钩子不可用时查询鼠标位置的间隔
+    private static final int POLL_INTERVAL = 1000;
+
+    /**
+     * 空闲状态变化的监听者，在 EDT 上调用
+     */
+    interface Listener {
+        void idleChanged(boolean idle);
+    }
+
+    private volatile long lastActivity = System.currentTimeMillis();
+    private volatile boolean idle = false;
+    private volatile boolean hooked = false;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // 以下只在 EDT 访问
+    private Timer timer;
+    private Point lastMousePosition = null;
+
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 全局钩子已注册，原生事件会调用 recordActivity（在 start 之前调用）
+     */
+    void setHooked(boolean hooked) {
+        this.hooked = hooked;
+    }
+
+    boolean isHooked() {
+        return hooked;
+    }
+
+    /**
+     * 开始判定空闲（在 EDT 上调用）：钩子可用时按空闲时刻定时，否则每秒查询鼠标位置
+     */
+    void start() {
+        if (timer != null) {
+            return;
+        }
+        if (hooked) {
+            timer = new Timer(0, e -> checkIdle());
+            timer.setRepeats(false);
+            armIdleTimer();
+        } else {
+            timer = new Timer(POLL_INTERVAL, e -> {
+                pollMouse();
+                checkIdle();
+            });
+            timer.start();
+        }
+    }
+
+    void stop() {
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+    }
+
+    /**
+     * 记录一次用户操作（任意线程，钩子线程上每个原生事件调用一次）
+     */
+    void recordActivity() {
+        lastActivity = System.currentTimeMillis();
+        if (idle) {
+            // 同一钩子线程依次分发事件，恢复后的第一个事件清除标记，之后的事件不再通知
+            idle = false;
+            SwingUtilities.invokeLater(this::resumed);
+        }
+    }
+
+    /**
+     * 最近 IDLE_THRESHOLD 内有过操作
+     */
+    boolean isActive() {
+        return System.currentTimeMillis() - lastActivity < IDLE_THRESHOLD;
+    }
+
+    /**
+     * 已通知为空闲且之后还没有新的操作
+     */
+    boolean isIdle() {
+        return idle;
+    }
+
+    private void resumed() {
+        fire(false);
+        if (hooked) {
+            armIdleTimer();
+        }
+    }
+
+    /**
+     * 到达空闲时刻：期间有新操作则顺延，否则通知进入空闲（之后等下一次操作，不再定时）
+     */
+    private void checkIdle() {
+        if (idle) {
+            return;
+        }
+        if (isActive()) {
+            if (hooked) {
+                armIdleTimer();
+            }
+            return;
+        }
+        idle = true;
+        fire(true);
+        // 判定和置位之间来了新操作、而钩子线程还没看到空闲标记时，由这里补发恢复
+        if (idle && isActive()) {
+            idle = false;
+            resumed();
+        }
+    }
+
+    private void armIdleTimer() {
+        if (timer == null || idle) {
+            return;
+        }
+        long remaining = lastActivity + IDLE_THRESHOLD - System.currentTimeMillis();
+        timer.setInitialDelay((int) Math.max(0, Math.min(Integer.MAX_VALUE, remaining)));
+        timer.restart();
+    }
+
+    private void pollMouse() {
+        try {
+            Point currentMousePosition = MouseInfo.getPointerInfo().getLocation();
+            if (!currentMousePosition.equals(lastMousePosition)) {
+                lastMousePosition = currentMousePosition;
+                recordActivity();
+            }
+        } catch (Exception e) {
+            // 无法获取鼠标位置时视为活跃
+            recordActivity();
+        }
+    }
+
+    private void fire(boolean idle) {
+        for (Listener listener : listeners) {
+            listener.idleChanged(idle);
+        }
+    }
+}
@@ -7,15 +7,18 @@ import java.awt.event.*;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 public class AnalogClock extends JFrame {
 
     private ClockPanel clockPanel;
-    private int xOffset, yOffset;
     private TimeRangeMonitor timeRangeMonitor;
     private TrayIcon trayIcon; // 托盘图标
     private GlobalHotkeyManager hotkeyManager; // 全局快捷键管理器
+    private RenderScheduler renderScheduler; // 自适应渲染调度器
+    private final ActivityTracker activityTracker = new ActivityTracker(); // 用户活动（空闲检测）
+    private javax.swing.Timer saveConfigTimer; // 窗口移动后延迟保存配置
     private final boolean isMac = System.getProperty("os.name").toLowerCase().contains("mac");
 
     public AnalogClock() {
@@ -51,95 +54,59 @@ public class AnalogClock extends JFrame {
         }
         
         // 初始化时间范围监控器
-        timeRangeMonitor = new TimeRangeMonitor(clockPanel.getHighlightAreas());
+        timeRangeMonitor = new TimeRangeMonitor(clockPanel.getSchedule(), activityTracker);
+        clockPanel.setTimeRangeMonitor(timeRangeMonitor);
         
-        // 初始化全局快捷键 (Alt+C 显示/隐藏, Alt+T 切换置顶)
+        // 初始化全局快捷键 (Alt+C 显示/隐藏, Alt+T 切换置顶)，同时为用户活动跟踪提供键盘、鼠标事件
         try {
-            hotkeyManager = new GlobalHotkeyManager(this);
+            hotkeyManager = new GlobalHotkeyManager(this, activityTracker);
             hotkeyManager.start();
         } catch (Throwable e) {
             // 全局快捷键功能失败不影响程序正常运行
             System.err.println("全局快捷键初始化失败（程序仍可正常使用）: " + e.getMessage());
         }
 
-        // 动态更新时钟 - 使用 Swing Timer
-        // Mac: 每秒刷新一次（避免闪烁），Windows: 30fps 平滑刷新
-        int refreshInterval = isMac ? 1000 : 33;
-        final long[] lastTriggerCheck = {0};
-        javax.swing.Timer clockTimer = new javax.swing.Timer(refreshInterval, e -> {
-            clockPanel.repaint();
-            // 每秒检查是否需要触发进入/退出动作
-            long now = System.currentTimeMillis();
-            if (now - lastTriggerCheck[0] >= 1000) {
-                // 在新线程中检查触发，避免阻塞 EDT
-                new Thread(() -> timeRangeMonitor.checkAndTrigger()).start();
-                lastTriggerCheck[0] = now;
+        // 动态更新时钟 - 自适应渲染调度
+        // Mac: 每整秒刷新一次（避免闪烁），Windows: 平滑刷新；隐藏/最小化/空闲时自动降频
+        renderScheduler = new RenderScheduler(
+                isMac ? RenderScheduler.RenderPolicy.TICK : RenderScheduler.RenderPolicy.SMOOTH,
+                clockPanel::repaintHands,
+                clockPanel::setRenderPolicy);
+        renderScheduler.start();
+        clockPanel.setRenderScheduler(renderScheduler);
+        // 可选：独立渲染线程出帧，EDT 只负责输入
+        clockPanel.setActiveRendering(config.activeRendering);
+
+        // 进入/退出/间隔提醒由监控器的调度线程在对应时刻触发，与渲染频率无关（时钟隐藏时也要提醒）
+        timeRangeMonitor.start();
+        // 用户空闲时渲染降频；从空闲恢复时立即补发离开期间的提醒
+        activityTracker.addListener(idle -> {
+            renderScheduler.setUserIdle(idle);
+            if (!idle) {
+                timeRangeMonitor.userResumed();
             }
         });
-        clockTimer.start();
+        // 全局钩子不可用时退回每秒查询鼠标位置
+        activityTracker.start();
 
-        addMouseWheelListener(new MouseAdapter() {
-            @Override
-            public void mouseWheelMoved(MouseWheelEvent e) {
-                if (e.getScrollType() == MouseWheelEvent.WHEEL_UNIT_SCROLL ||
-                        e.getScrollType() == MouseWheelEvent.WHEEL_BLOCK_SCROLL) {
-
-                    // 1. 记录缩放前的状态
-                    float oldScale = clockPanel.getScale();
-                    Point mousePointScreen = e.getLocationOnScreen(); // 鼠标在屏幕上的绝对位置
-                    Point clockLocation = getLocation();              // 时钟窗口的左上角位置
-
-                    float newScale;
-                    if (e.getWheelRotation() < 0) { // 向上滚动 (放大)
-                        newScale = Math.min(2.0f, oldScale + 0.1f);
-                    } else { // 向下滚动 (缩小)
-                        newScale = Math.max(0.5f, oldScale - 0.1f);
-                    }
+        // 拖动/缩放过程中窗口连续移动，停下 500ms 后再写一次配置文件
+        saveConfigTimer = new javax.swing.Timer(500, e -> saveCurrentConfig());
+        saveConfigTimer.setRepeats(false);
 
-                    if (newScale != oldScale) {
-                        // 2. 更新 scale
-                        clockPanel.setScale(newScale);
-                        pack(); // 重新计算并设置窗口大小
-
-                        // 3. 计算并重新定位窗口
-                        repositionFrameAfterScaling(oldScale, newScale, mousePointScreen, clockLocation);
-                    }
-                }
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentMoved(ComponentEvent e) {
+                saveConfigTimer.restart();
             }
 
-            /**
-             * 根据缩放比例和鼠标位置重新定位窗口，实现以鼠标为中心缩放。
-             * @param oldScale 缩放前的比例
-             * @param newScale 缩放后的比例
-             * @param mousePointScreen 鼠标在屏幕上的绝对坐标
-             * @param oldClockLocation 缩放前窗口的左上角坐标
-             */
-            private void repositionFrameAfterScaling(float oldScale, float newScale, Point mousePointScreen, Point oldClockLocation) {
-                if (oldScale == newScale) return;
-
-                // 比例因子 R
-                double scaleFactor = newScale / oldScale;
-
-                // 鼠标在旧窗口内的相对位置
-                int mouseXInFrame = mousePointScreen.x - oldClockLocation.x;
-                int mouseYInFrame = mousePointScreen.y - oldClockLocation.y;
-
-                // 鼠标在缩放后的窗口内的新相对位置 (期望位置)
-                // 鼠标到左上角的距离 D' = D * R
-
-                // 新窗口的左上角坐标 (NewX, NewY)
-                // NewX = MouseScreenX - (MouseInFrameX * R)
-                int newX = (int) (mousePointScreen.x - (mouseXInFrame * scaleFactor));
-                int newY = (int) (mousePointScreen.y - (mouseYInFrame * scaleFactor));
-
-                setLocation(newX, newY);
+            @Override
+            public void componentShown(ComponentEvent e) {
+                renderScheduler.setHidden(false);
             }
-        });
 
-        addComponentListener(new ComponentAdapter() {
             @Override
-            public void componentMoved(ComponentEvent e) {
-                saveCurrentConfig();
+            public void componentHidden(ComponentEvent e) {
+                renderScheduler.setHidden(true);
             }
         });
 
@@ -148,6 +115,16 @@ public class AnalogClock extends JFrame {
             public void windowClosing(WindowEvent e) {
                 saveCurrentConfig(); // 关闭时保存最终状态
             }
+
+            @Override
+            public void windowIconified(WindowEvent e) {
+                renderScheduler.setIconified(true);
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                renderScheduler.setIconified(false);
+            }
         });
 
         setVisible(true);
@@ -199,6 +176,7 @@ public class AnalogClock extends JFrame {
         JMenuItem exitItem = new JMenuItem("退出");
         exitItem.addActionListener(e -> {
             saveCurrentConfig();
+            timeRangeMonitor.shutdown();
             tray.remove(trayIcon);
             System.exit(0);
         });
@@ -267,7 +245,94 @@ public class AnalogClock extends JFrame {
             clockPanel.showToast(message);
         }
     }
-    
+
+    /**
+     * 当前渲染策略
+     */
+    public RenderScheduler.RenderPolicy getRenderPolicy() {
+        return renderScheduler.getPolicy();
+    }
+
+    /**
+     * 最近 1 秒实际绘制帧率
+     */
+    public double getAchievedFps() {
+        return renderScheduler.getAchievedFps();
+    }
+
+    /**
+     * 静态图层缓存（各缩放档位的预渲染表盘）的内存占用和命中率
+     */
+    ScaleLayerCache.Stats getLayerCacheStats() {
+        return clockPanel.getRenderer().getLayerCacheStats();
+    }
+
+    /**
+     * 触发执行器（进出提醒和提示音）创建的线程数和排队任务数
+     */
+    TimeRangeMonitor.Stats getTriggerStats() {
+        return timeRangeMonitor.getStats();
+    }
+
+    /**
+     * 强制渲染策略（传入 null 恢复自动切换）
+     */
+    public void setForcedRenderPolicy(RenderScheduler.RenderPolicy policy) {
+        renderScheduler.setForcedPolicy(policy);
+    }
+
+    /**
+     * 以鼠标为中心缩放若干档（由输入合并器每帧最多调用一次）
+     * @param steps 档数，正数放大、负数缩小
+     * @param mousePointScreen 鼠标在屏幕上的绝对位置
+     */
+    private void zoomAt(int steps, Point mousePointScreen) {
+        // 1. 记录缩放前的状态
+        float oldScale = clockPanel.getScale();
+        Point clockLocation = getLocation(); // 时钟窗口的左上角位置
+
+        // 缩放取 0.1 的整数倍，落在预渲染的 16 个档位上
+        float newScale = ScaleLayerCache.snapScale(oldScale + steps * 0.1f);
+
+        if (newScale != oldScale) {
+            // 2. 更新 scale（静态图层已预渲染时直接换上，不重新绘制表盘）
+            clockPanel.setScale(newScale);
+            clockPanel.getRenderer().requestPrerender();
+            pack(); // 重新计算并设置窗口大小
+
+            // 3. 计算并重新定位窗口
+            repositionFrameAfterScaling(oldScale, newScale, mousePointScreen, clockLocation);
+        }
+    }
+
+    /**
+     * 根据缩放比例和鼠标位置重新定位窗口，实现以鼠标为中心缩放。
+     * @param oldScale 缩放前的比例
+     * @param newScale 缩放后的比例
+     * @param mousePointScreen 鼠标在屏幕上的绝对坐标
+     * @param oldClockLocation 缩放前窗口的左上角坐标
+     */
+    private void repositionFrameAfterScaling(float oldScale, float newScale, Point mousePointScreen, Point oldClockLocation) {
+        if (oldScale == newScale) return;
+
+        // 比例因子 R
+        double scaleFactor = newScale / oldScale;
+
+        // 鼠标在旧窗口内的相对位置
+        int mouseXInFrame = mousePointScreen.x - oldClockLocation.x;
+        int mouseYInFrame = mousePointScreen.y - oldClockLocation.y;
+
+        // 鼠标在缩放后的窗口内的新相对位置 (期望位置)
+        // 鼠标到左上角的距离 D' = D * R
+
+        // 新窗口的左上角坐标 (NewX, NewY)
+        // NewX = MouseScreenX - (MouseInFrameX * R)
+        int newX = (int) (mousePointScreen.x - (mouseXInFrame * scaleFactor));
+        int newY = (int) (mousePointScreen.y - (mouseYInFrame * scaleFactor));
+
+        setLocation(newX, newY);
+    }
+
     private void saveCurrentConfig() {
         ClockConfig config = new ClockConfig();
 
@@ -288,6 +353,9 @@ public class AnalogClock extends JFrame {
 
         // 3. 全局标签显示设置
         config.showLabels = clockPanel.isShowLabels();
+        config.theme = clockPanel.getThemeName();
+        config.gradientRings = clockPanel.getRenderer().isGradientRings();
+        config.activeRendering = clockPanel.isActiveRendering();
 
         // 4. 高亮区域 (直接使用 Color 对象创建 SerializableHighlightSetting)
         List<ClockConfig.SerializableHighlightSetting> serializableList = new ArrayList<>();
@@ -321,80 +389,64 @@ public class AnalogClock extends JFrame {
     // 内部类：时钟绘制面板
     // =========================================================================
 
-    class ClockPanel extends JPanel {
-
-        private float scale = 1.0f;
-        private final int BASE_CLOCK_SIZE = 200;
+    static class ClockPanel extends JPanel {
 
-        private List<HighlightSetting> highlightAreas;
-        private Color clockColor;
+        // 表盘绘制全部委托给渲染器，面板只负责鼠标交互和重绘调度
+        private final ClockRenderer renderer;
 
         // 保留默认高亮颜色，用于新建时的默认值
         private Color defaultHighlightColor;
+        // 当前使用的预设主题名，单独修改过颜色后为 null（自定义）
+        private String themeName;
 
-        private Color numberColor;
-        private Color hourHandColor;
-        private Color minuteHandColor;
-        private Color secondHandColor;
+        private static final int TOAST_DURATION = 1500; // Toast 显示时间 (ms)
 
-        // 全局设置：是否显示标签
-        private boolean showLabels = true;
+        // 脏区域重绘规划：定时器只重绘指针扫过的区域
+        private final RepaintPlanner repaintPlanner = new RepaintPlanner();
+        // Toast 淡出动画：提示框显示期间静止不重绘，只在最后的淡出阶段按帧重绘提示框区域
+        private final javax.swing.Timer toastFadeTimer;
+        // 当前（或最近一次）Toast 提示框的区域
+        private Rectangle toastBounds = null;
 
-        // 鼠标悬停的高亮区域
-        private HighlightSetting hoveredSetting = null;
-        
-        // Toast 提示相关
-        private String toastMessage = null;
-        private long toastEndTime = 0;
-        private static final int TOAST_DURATION = 1500; // Toast 显示时间 (ms)
+        // 拖动、悬停和滚轮缩放输入按帧合并
+        private final InputCoalescer inputCoalescer;
+
+        // 主动渲染循环（未开启时为 null）
+        private ActiveRenderLoop activeRenderLoop = null;
+
+        // 窗口创建后注入的渲染调度器和时间范围监控器（面板单独使用时为 null）
+        private RenderScheduler renderScheduler = null;
+        private TimeRangeMonitor timeRangeMonitor = null;
+
+        // 拖动：按下点相对窗口左上角的偏移量
+        private int dragOffsetX, dragOffsetY;
 
         public ClockPanel(ClockConfig config) {
-            // 1. 应用颜色和缩放 (直接使用配置中的 Color 对象)
-            this.scale = config.scale;
-            this.clockColor = config.clockColor;
+            this.renderer = new ClockRenderer(config);
+            // 第一帧绘制后在后台预渲染所有缩放档位，之后滚轮缩放直接换上现成的静态图层
+            renderer.requestPrerender();
             this.defaultHighlightColor = config.defaultHighlightColor;
-            this.numberColor = config.numberColor;
-            this.hourHandColor = config.hourHandColor;
-            this.minuteHandColor = config.minuteHandColor;
-            this.secondHandColor = config.secondHandColor;
-            this.showLabels = config.showLabels;
-
-            // 2. 应用高亮区域
-            this.highlightAreas = new ArrayList<>();
-            if (config.highlightAreas != null && !config.highlightAreas.isEmpty()) {
-                for (ClockConfig.SerializableHighlightSetting shs : config.highlightAreas) {
-                    this.highlightAreas.add(new HighlightSetting(
-                            shs.startHour,
-                            shs.startMinute,
-                            shs.endHour,
-                            shs.endMinute,
-                            shs.highlightColor,
-                            shs.label != null ? shs.label : "",
-                            shs.labelColor != null ? shs.labelColor : Color.WHITE,
-                            shs.enter,
-                            shs.exit,
-                            shs.interval
-                    ));
-                }
-            } else {
-                // 如果配置中没有高亮区域，使用初始默认值
-                this.highlightAreas.add(new HighlightSetting(9, 0, 12, 0, defaultHighlightColor, "", Color.WHITE));
-                this.highlightAreas.add(new HighlightSetting(13, 18, 18, 0, defaultHighlightColor, "", Color.WHITE));
-            }
+            this.themeName = Theme.find(config.theme) != null ? config.theme : null;
+            this.inputCoalescer = new InputCoalescer(
+                    this::moveWindow,
+                    // 查表命中已有区域，不分配对象
+                    (x, y) -> setHoveredSetting(renderer.findHighlightSettingAt(x, y)),
+                    this::zoomWindow);
+            this.toastFadeTimer = new javax.swing.Timer(RenderScheduler.SMOOTH_FRAME_INTERVAL, e -> onToastFadeFrame());
 
             // 启用双缓冲，减少闪烁
             setDoubleBuffered(true);
             setOpaque(false);
-            setPreferredSize(new Dimension(BASE_CLOCK_SIZE, BASE_CLOCK_SIZE));
+            setPreferredSize(new Dimension(ClockRenderer.BASE_CLOCK_SIZE, ClockRenderer.BASE_CLOCK_SIZE));
 
             addMouseListener(new MouseAdapter() {
                 @Override
                 public void mousePressed(MouseEvent e) {
-                    // 【新增/修改】：记录偏移量，用于拖动
-                    AnalogClock parent = (AnalogClock) SwingUtilities.getWindowAncestor(ClockPanel.this);
+                    // 记录按下点相对窗口左上角的偏移量，用于拖动
+                    Window parent = SwingUtilities.getWindowAncestor(ClockPanel.this);
                     if (parent != null) {
-                        parent.xOffset = e.getX();
-                        parent.yOffset = e.getY();
+                        dragOffsetX = e.getXOnScreen() - parent.getX();
+                        dragOffsetY = e.getYOnScreen() - parent.getY();
                     }
                     // Mac 上右键菜单在 mousePressed 触发
                     if (e.isPopupTrigger()) {
@@ -405,24 +457,20 @@ public class AnalogClock extends JFrame {
                 @Override
                 public void mouseExited(MouseEvent e) {
                     // 鼠标离开面板时清除悬停状态
-                    if (hoveredSetting != null) {
-                        hoveredSetting = null;
-                        setCursor(Cursor.getDefaultCursor());
-                        repaint();
-                    }
+                    inputCoalescer.cancelHover();
+                    setHoveredSetting(null);
                 }
 
                 @Override
                 public void mouseClicked(MouseEvent e) {
                     // 单击左键高亮区域 -> 编辑
                     if (e.getButton() == MouseEvent.BUTTON1 && e.getClickCount() == 1) {
-                        HighlightSetting clickedSetting = getHighlightSettingAt(e.getX(), e.getY());
+                        HighlightSetting clickedSetting = renderer.findHighlightSettingAt(e.getX(), e.getY());
                         // 只有点击已存在的高亮区域才打开编辑
-                        if (clickedSetting != null && highlightAreas.contains(clickedSetting)) {
+                        if (clickedSetting != null) {
                             // 清除悬停状态
-                            hoveredSetting = null;
-                            setCursor(Cursor.getDefaultCursor());
-                            repaint();
+                            inputCoalescer.cancelHover();
+                            setHoveredSetting(null);
                             
                             SettingsDialog dialog =
                                     new SettingsDialog((JFrame) SwingUtilities.getWindowAncestor(ClockPanel.this),
@@ -434,6 +482,8 @@ public class AnalogClock extends JFrame {
 
                 @Override
                 public void mouseReleased(MouseEvent e) {
+                    // 落定拖动的最终位置
+                    inputCoalescer.flush();
                     // Windows 上右键菜单在 mouseReleased 触发
                     if (e.isPopupTrigger()) {
                         showContextMenu(e);
@@ -442,10 +492,13 @@ public class AnalogClock extends JFrame {
                 
                 private void showContextMenu(MouseEvent e) {
                         JPopupMenu popup = new JPopupMenu();
-                        HighlightSetting clickedSetting = getHighlightSettingAt(e.getX(), e.getY());
+                        HighlightSetting existingSetting = renderer.findHighlightSettingAt(e.getX(), e.getY());
+                        // 未命中已有区域时才创建用于新建的临时对象
+                        HighlightSetting clickedSetting = existingSetting != null ? existingSetting
+                                : renderer.createNewAreaAt(e.getX(), e.getY(), defaultHighlightColor);
 
                         if (clickedSetting != null) {
-                            boolean isNew = !highlightAreas.contains(clickedSetting);
+                            boolean isNew = existingSetting == null;
                             if(isNew){
                                 // 右键非高亮区域 -> 新建菜单
                                 JMenuItem newItem = new JMenuItem("新建高亮区域");
@@ -472,8 +525,9 @@ public class AnalogClock extends JFrame {
                                             "确定删除区域: " + clickedSetting.format(),
                                             "确认删除", JOptionPane.YES_NO_OPTION);
                                     if (confirm == JOptionPane.YES_OPTION) {
-                                        highlightAreas.remove(clickedSetting);
-                                        repaint();
+                                        List<HighlightSetting> remaining = new ArrayList<>(getHighlightAreas());
+                                        remaining.remove(clickedSetting);
+                                        setHighlightAreas(remaining);
                                         ((AnalogClock) SwingUtilities.getWindowAncestor(ClockPanel.this)).saveCurrentConfig(); // 实时保存
                                     }
                                 });
@@ -489,7 +543,7 @@ public class AnalogClock extends JFrame {
                         JMenuItem alwaysOnTopItem = new JMenuItem(parentClock.isAlwaysOnTop() ? "取消置顶" : "窗口置顶");
                         alwaysOnTopItem.addActionListener(action -> {
                             parentClock.setAlwaysOnTop(!parentClock.isAlwaysOnTop());
-                            saveCurrentConfig();
+                            parentClock.saveCurrentConfig();
                         });
                         popup.add(alwaysOnTopItem);
 
@@ -511,7 +565,10 @@ public class AnalogClock extends JFrame {
 
                         JMenuItem exitItem = new JMenuItem("退出");
                         exitItem.addActionListener(igonre -> {
-                            saveCurrentConfig();
+                            parentClock.saveCurrentConfig();
+                            if (timeRangeMonitor != null) {
+                                timeRangeMonitor.shutdown();
+                            }
                             System.exit(0);
                         });
                         popup.add(exitItem);
@@ -523,629 +580,259 @@ public class AnalogClock extends JFrame {
             addMouseMotionListener(new MouseMotionAdapter() {
                 @Override
                 public void mouseDragged(MouseEvent e) {
-                    AnalogClock parent = (AnalogClock) SwingUtilities.getWindowAncestor(ClockPanel.this);
-                    if (parent != null) {
-                        // 使用父窗口的 xOffset 和 yOffset
-                        Point newLocation = parent.getLocation();
-                        newLocation.translate(e.getX() - parent.xOffset, e.getY() - parent.yOffset);
-                        parent.setLocation(newLocation);
-                    }
+                    // 用屏幕坐标减去按下时的偏移量得到窗口位置，与窗口是否已跟上无关；每帧最多移动一次
+                    inputCoalescer.moveTo(e.getXOnScreen() - dragOffsetX, e.getYOnScreen() - dragOffsetY);
                 }
 
                 @Override
                 public void mouseMoved(MouseEvent e) {
-                    // 检查鼠标是否悬停在某个高亮区域上
-                    HighlightSetting newHovered = getHighlightSettingAt(e.getX(), e.getY());
-                    
-                    // 只有真正的高亮区域才算悬停（排除临时创建的新建对象）
-                    if (newHovered != null && !highlightAreas.contains(newHovered)) {
-                        newHovered = null;
-                    }
-                    
-                    if (newHovered != hoveredSetting) {
-                        hoveredSetting = newHovered;
-                        // 设置鼠标指针：高亮区域上显示手掌，否则默认
-                        setCursor(hoveredSetting != null 
-                            ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) 
-                            : Cursor.getDefaultCursor());
-                        repaint();
+                    // 检查鼠标是否悬停在某个高亮区域上（每帧最多检测一次）
+                    inputCoalescer.hoverAt(e.getX(), e.getY());
+                }
+            });
+
+            addMouseWheelListener(new MouseAdapter() {
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    if (e.getScrollType() == MouseWheelEvent.WHEEL_UNIT_SCROLL ||
+                            e.getScrollType() == MouseWheelEvent.WHEEL_BLOCK_SCROLL) {
+                        // 每个滚轮事件一档：向上滚动放大，向下缩小；同一帧内的多档合并为一次缩放
+                        inputCoalescer.zoomBy(e.getWheelRotation() < 0 ? 1 : -1, e.getXOnScreen(), e.getYOnScreen());
                     }
                 }
             });
         }
 
+        void setRenderScheduler(RenderScheduler renderScheduler) { this.renderScheduler = renderScheduler; }
+        void setTimeRangeMonitor(TimeRangeMonitor timeRangeMonitor) { this.timeRangeMonitor = timeRangeMonitor; }
+
+        /**
+         * 把窗口移动到屏幕坐标 (x, y)（拖动时由输入合并器每帧最多调用一次）
+         */
+        void moveWindow(int x, int y) {
+            Window parent = SwingUtilities.getWindowAncestor(this);
+            if (parent != null) {
+                parent.setLocation(x, y);
+            }
+        }
+
+        /**
+         * 以屏幕坐标 (x, y) 为中心缩放若干档（由输入合并器每帧最多调用一次）
+         */
+        void zoomWindow(int steps, int x, int y) {
+            AnalogClock parent = (AnalogClock) SwingUtilities.getWindowAncestor(this);
+            if (parent != null) {
+                parent.zoomAt(steps, new Point(x, y));
+            }
+        }
+
         @Override
         public Dimension getPreferredSize() {
-            int currentSize = (int) (BASE_CLOCK_SIZE * scale);
+            int currentSize = (int) (ClockRenderer.BASE_CLOCK_SIZE * renderer.getScale());
             return new Dimension(currentSize, currentSize);
         }
 
-        public float getScale() { return scale; }
+        public ClockRenderer getRenderer() { return renderer; }
+
+        public float getScale() { return renderer.getScale(); }
         public void setScale(float newScale) {
-            this.scale = Math.max(0.5f, Math.min(2.0f, newScale));
+            renderer.setScale(newScale);
+            repaintPlanner.requestFullRepaint();
             revalidate();
+            requestFrame();
         }
 
         public Color getDefaultHighlightColor() { return defaultHighlightColor; }
         public void setDefaultHighlightColor(Color defaultHighlightColor) {
             this.defaultHighlightColor = defaultHighlightColor;
+            themeName = null;
             repaint();
         }
 
-        public List<HighlightSetting> getHighlightAreas() { return highlightAreas; }
-        public void setHighlightAreas(List<HighlightSetting> highlightAreas) {
-            this.highlightAreas = highlightAreas;
-            repaint();
-        }
+        public String getThemeName() { return themeName; }
 
-        public Color getClockColor() { return clockColor; }
-        public void setClockColor(Color clockColor) { this.clockColor = clockColor; repaint(); }
-        public Color getNumberColor() { return numberColor; }
-        public void setNumberColor(Color numberColor) { this.numberColor = numberColor; repaint(); }
-        public Color getHourHandColor() { return hourHandColor; }
-        public void setHourHandColor(Color hourHandColor) { this.hourHandColor = hourHandColor; repaint(); }
-        public Color getMinuteHandColor() { return minuteHandColor; }
-        public void setMinuteHandColor(Color minuteHandColor) { this.minuteHandColor = minuteHandColor; repaint(); }
-        public Color getSecondHandColor() { return secondHandColor; }
-        public void setSecondHandColor(Color secondHandColor) { this.secondHandColor = secondHandColor; repaint(); }
-
-        public boolean isShowLabels() { return showLabels; }
-        public void setShowLabels(boolean showLabels) { this.showLabels = showLabels; repaint(); }
-        
         /**
-         * 显示 Toast 提示
+         * 切换预设主题：标签颜色改用主题的数字颜色以确保可读性；缓存在后台重建，完成后一次性换上并重绘
          */
-        public void showToast(String message) {
-            this.toastMessage = message;
-            this.toastEndTime = System.currentTimeMillis() + TOAST_DURATION;
-            repaint();
-        }
-
-        // ClockPanel.java 内部类 ClockPanel 的部分
-
-        /**
-         * 将面板上的坐标转换为小时和分钟。
-         * @param x 鼠标x坐标
-         * @param y 鼠标y坐标
-         * @return 包含 {hour, minute} 的数组（hour为0-11，0表示12点），或 null 如果点击在表盘外部。
-         */
-        private int[] getTimeAt(int x, int y) {
-            int currentSize = (int) (BASE_CLOCK_SIZE * scale);
-            int centerX = currentSize / 2;
-            int centerY = currentSize / 2;
-
-            // 检查是否在圆内 (使用半径 * 0.95 来忽略边缘)
-            int radius = currentSize / 2;
-            int dx = x - centerX;
-            int dy = centerY - y; // 修正：Y坐标取反，因为AWT的Y轴向下为正
-
-            double distance = Math.sqrt(dx * dx + dy * dy);
-
-            if (distance > radius * 0.95 || distance < radius * 0.1) {
-                // 点击在太边缘或中心点，忽略
-                return null;
+        public void applyTheme(Theme theme) {
+            themeName = theme.name();
+            defaultHighlightColor = theme.defaultHighlightColor();
+            for (HighlightSetting setting : getHighlightAreas()) {
+                setting.setLabelColor(theme.numberColor());
             }
+            renderer.applyTheme(theme).thenRun(() -> SwingUtilities.invokeLater(() -> {
+                repaintPlanner.requestFullRepaint();
+                requestFrame();
+            }));
+        }
 
-            // 1. 计算AWT角度 (从3点钟位置开始, 0度, 逆时针增加)
-            double angleRad = Math.atan2(dy, dx);
-            double awtAngleDeg = Math.toDegrees(angleRad);
-
-            // 标准化角度到 0-360 度
-            if (awtAngleDeg < 0) {
-                awtAngleDeg += 360;
+        public List<HighlightSetting> getHighlightAreas() { return renderer.getHighlightAreas(); }
+        public void setHighlightAreas(List<HighlightSetting> highlightAreas) {
+            renderer.setHighlightAreas(highlightAreas);
+            // 时间范围监控器与表盘共享同一份区域索引
+            if (timeRangeMonitor != null) {
+                timeRangeMonitor.updateSchedule(renderer.getSchedule());
             }
+            invalidateStaticLayer();
+        }
 
-            // 2. 转换为时钟角度（从12点钟位置开始，顺时针）
-            double clockAngleFrom12 = (90 - awtAngleDeg + 360) % 360;
-
-            // 3. 将角度转换为12小时制的总分钟数
-            int totalMinutes12Hour = (int) Math.round(clockAngleFrom12 * 2);
-            totalMinutes12Hour = totalMinutes12Hour % 720; // 确保在0-719范围内
+        HighlightSchedule getSchedule() { return renderer.getSchedule(); }
+
+        public Color getClockColor() { return renderer.getClockColor(); }
+        public void setClockColor(Color clockColor) { renderer.setClockColor(clockColor); themeName = null; invalidateStaticLayer(); }
+        public Color getNumberColor() { return renderer.getNumberColor(); }
+        public void setNumberColor(Color numberColor) { renderer.setNumberColor(numberColor); themeName = null; invalidateStaticLayer(); }
+        public Color getHourHandColor() { return renderer.getHourHandColor(); }
+        public void setHourHandColor(Color hourHandColor) { renderer.setHourHandColor(hourHandColor); themeName = null; requestFrame(); }
+        public Color getMinuteHandColor() { return renderer.getMinuteHandColor(); }
+        public void setMinuteHandColor(Color minuteHandColor) { renderer.setMinuteHandColor(minuteHandColor); themeName = null; requestFrame(); }
+        public Color getSecondHandColor() { return renderer.getSecondHandColor(); }
+        public void setSecondHandColor(Color secondHandColor) { renderer.setSecondHandColor(secondHandColor); themeName = null; requestFrame(); }
+
+        public boolean isShowLabels() { return renderer.isShowLabels(); }
+        public void setShowLabels(boolean showLabels) { renderer.setShowLabels(showLabels); invalidateStaticLayer(); }
+
+        public void setRenderPolicy(RenderScheduler.RenderPolicy renderPolicy) {
+            renderer.setRenderPolicy(renderPolicy);
+            repaintPlanner.requestFullRepaint();
+        }
 
-            // 4. 转换为小时和分钟（12小时制）
-            int minute = totalMinutes12Hour % 60;
-            int hour12 = totalMinutes12Hour / 60; // 0-11 (0表示12点)
+        /**
+         * 高亮区域的颜色、标签被直接修改后调用，使修改进入渲染模型
+         */
+        public void refreshHighlightStyles() {
+            renderer.refreshHighlightStyles();
+            invalidateStaticLayer();
+        }
 
-            // 直接返回12小时制时间，hour12的范围是0-11
-            return new int[] {hour12, minute};
+        /**
+         * 标记静态表盘图层失效，下一帧绘制时重建
+         */
+        public void invalidateStaticLayer() {
+            renderer.invalidateStaticLayer();
+            repaintPlanner.requestFullRepaint();
+            requestFrame();
         }
 
+        public boolean isActiveRendering() { return activeRenderLoop != null; }
 
         /**
-         * 根据鼠标点击位置，查找匹配的高亮区域。
-         * @param x 鼠标x坐标
-         * @param y 鼠标y坐标
-         * @return 匹配的 HighlightSetting 对象，如果没有匹配则返回 null。
+         * 切换主动渲染模式：开启后由独立的渲染线程出帧，EDT 只贴图和处理输入；关闭后回到 Swing 定时重绘
          */
-        public HighlightSetting getHighlightSettingAt(int x, int y) {
-            int[] time = getTimeAt(x, y);
-            if (time == null) {
-                return null; // 点击不在表盘范围内
+        public void setActiveRendering(boolean enabled) {
+            if (enabled == isActiveRendering()) {
+                return;
             }
-
-            int clickHour = time[0]; // 0-11 (12小时制)
-            int clickMinute = time[1];
-
-            // 检查所有高亮区域
-            for (HighlightSetting setting : highlightAreas) {
-                // 将24小时制的设置转换为12小时制进行匹配
-                int startHour24 = setting.getStartHour();
-                int startMinute24 = setting.getStartMinute();
-                int endHour24 = setting.getEndHour();
-                int endMinute24 = setting.getEndMinute();
-
-                // 转换为12小时制
-                int startHour12 = startHour24 % 12;
-                int endHour12 = endHour24 % 12;
-
-                // 计算12小时制的总分钟数
-                int startMin12 = startHour12 * 60 + startMinute24;
-                int endMin12 = endHour12 * 60 + endMinute24;
-                int clickMin12 = clickHour * 60 + clickMinute;
-
-                // 检查点击是否在这个12小时制区域内
-                boolean inRange = false;
-                if (startMin12 <= endMin12) {
-                    // 不跨越12点的情况
-                    inRange = (clickMin12 >= startMin12 && clickMin12 < endMin12);
-                } else {
-                    // 跨越12点的情况
-                    inRange = (clickMin12 >= startMin12 || clickMin12 < endMin12);
+            if (enabled) {
+                activeRenderLoop = new ActiveRenderLoop(renderer, this);
+                activeRenderLoop.start();
+                if (renderScheduler != null) {
+                    // 调度器只保留策略切换（隐藏/空闲），不再驱动重绘
+                    renderScheduler.stop();
                 }
-
-                if (inRange) {
-                    return setting;
+            } else {
+                activeRenderLoop.stop();
+                activeRenderLoop = null;
+                if (renderScheduler != null) {
+                    renderScheduler.start();
                 }
+                invalidateStaticLayer();
             }
-
-            // 没有匹配到任何高亮区域，创建临时对象用于新建
-            int endH = (clickHour + 1) % 12;
-            return new HighlightSetting(
-                    clickHour, 0,
-                    endH, 0,
-                    defaultHighlightColor, "", Color.WHITE);
         }
 
-
-        @Override
-        protected void paintComponent(Graphics g) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
-
-            int currentSize = (int) (BASE_CLOCK_SIZE * scale);
-            currentSize = currentSize - currentSize%2;
-            int centerX = currentSize / 2;
-            int centerY = currentSize / 2;
-            int radius = currentSize / 2;
-
-            LocalTime now = LocalTime.now();
-            int hour = now.getHour() % 12;
-            int minute = now.getMinute();
-            int second = now.getSecond();
-            int nano = now.getNano();
-            // 计算精确的秒数（包含毫秒部分），用于平滑秒针
-            double preciseSecond = second + nano / 1_000_000_000.0;
-            
-            // 计算当前时间（24小时制，用于判断是否在高亮区域内）
-            int currentHour24 = now.getHour();
-            int currentMinute = now.getMinute();
-
-            // 1. 绘制表盘背景（深色简洁背景）
-            g2d.setColor(clockColor);
-            g2d.fillOval(0, 0, currentSize, currentSize);
-
-            // 2. 绘制圆环轨道背景（灰色底轨）- 底轨用圆头
-            int ringWidth = (int)(10 * scale);
-            int ringMargin = (int)(30 * scale);  // 增大边距，让圆环和数字之间有呼吸感
-            int ringRadius = radius - ringMargin - ringWidth / 2;
-            
-            g2d.setColor(new Color(60, 60, 60, 180));
-            g2d.setStroke(new BasicStroke(ringWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            g2d.drawOval(centerX - ringRadius, centerY - ringRadius, ringRadius * 2, ringRadius * 2);
-
-            // 3. 绘制高亮圆环
-            drawHighlightRings(g2d, currentSize, centerX, centerY, ringRadius, ringWidth, currentHour24, currentMinute);
-
-            // 4. 绘制精细刻度
-            drawMinuteMarks(g2d, currentSize, centerX, centerY);
-
-            // 5. 绘制数字
-            g2d.setColor(numberColor);
-            drawNumbers(g2d, currentSize, centerX, centerY);
-
-            // 6. 绘制指针（带阴影）
-            drawHandWithShadow(g2d, Math.toRadians(hour * 30 + minute * 0.5 - 90), 
-                              (int)(45 * scale), (int)(5 * scale), hourHandColor, centerX, centerY);
-            drawHandWithShadow(g2d, Math.toRadians(minute * 6 + preciseSecond * 0.1 - 90), 
-                              (int)(65 * scale), (int)(3 * scale), minuteHandColor, centerX, centerY);
-            // 使用精确秒数实现平滑秒针
-            drawHandWithShadow(g2d, Math.toRadians(preciseSecond * 6 - 90), 
-                              (int)(75 * scale), (int)(1.5f * scale), secondHandColor, centerX, centerY);
-
-            // 7. 绘制中心点（带高光）
-            int centerDotSize = (int)(12 * scale);
-            // 外圈阴影
-            g2d.setColor(new Color(0, 0, 0, 60));
-            g2d.fillOval(centerX - centerDotSize / 2 + 1, centerY - centerDotSize / 2 + 1, centerDotSize, centerDotSize);
-            // 主体
-            g2d.setColor(new Color(240, 240, 240));
-            g2d.fillOval(centerX - centerDotSize / 2, centerY - centerDotSize / 2, centerDotSize, centerDotSize);
-            // 高光
-            int highlightSize = (int)(4 * scale);
-            g2d.setColor(new Color(255, 255, 255, 200));
-            g2d.fillOval(centerX - highlightSize / 2 - 1, centerY - highlightSize / 2 - 1, highlightSize, highlightSize);
-            
-            // 8. 绘制 Toast 提示
-            if (toastMessage != null && System.currentTimeMillis() < toastEndTime) {
-                // 计算透明度（淡出效果）
-                long remaining = toastEndTime - System.currentTimeMillis();
-                int alpha = remaining < 300 ? (int)(255 * remaining / 300) : 255;
-                
-                Font toastFont = new Font("Microsoft YaHei", Font.BOLD, (int)(12 * scale));
-                g2d.setFont(toastFont);
-                FontMetrics fm = g2d.getFontMetrics();
-                int textWidth = fm.stringWidth(toastMessage);
-                int textHeight = fm.getHeight();
-                
-                int padding = (int)(8 * scale);
-                int boxWidth = textWidth + padding * 2;
-                int boxHeight = textHeight + padding;
-                int boxX = centerX - boxWidth / 2;
-                int boxY = centerY + (int)(30 * scale);
-                
-                // 绘制背景
-                g2d.setColor(new Color(0, 0, 0, (int)(200 * alpha / 255)));
-                g2d.fillRoundRect(boxX, boxY, boxWidth, boxHeight, 10, 10);
-                
-                // 绘制文字
-                g2d.setColor(new Color(255, 255, 255, alpha));
-                g2d.drawString(toastMessage, boxX + padding, boxY + fm.getAscent() + padding / 2);
-            } else if (toastMessage != null && System.currentTimeMillis() >= toastEndTime) {
-                toastMessage = null; // 清除过期的 Toast
+        /**
+         * 请求尽快绘制新的一帧：主动渲染时唤醒渲染线程，否则走 Swing 重绘
+         */
+        private void requestFrame() {
+            if (activeRenderLoop != null) {
+                activeRenderLoop.requestFrame();
+            } else {
+                repaint();
             }
         }
 
         /**
-         * 绘制高亮圆环（Apple Watch 风格）
-         * - 检测相邻时间段，中间用平头连接，两端用圆头
-         * - 文字沿弧线切线方向排列
+         * 更新悬停区域：设置鼠标指针并重绘
          */
-        private void drawHighlightRings(Graphics2D g2d, int currentSize, int centerX, int centerY, 
-                                       int ringRadius, int ringWidth, int currentHour24, int currentMinute) {
-            
-            // 按开始时间排序
-            List<HighlightSetting> sortedAreas = new ArrayList<>(highlightAreas);
-            sortedAreas.sort((a, b) -> {
-                int aStart = a.getStartHour() * 60 + a.getStartMinute();
-                int bStart = b.getStartHour() * 60 + b.getStartMinute();
-                return Integer.compare(aStart, bStart);
-            });
-            
-            for (int idx = 0; idx < sortedAreas.size(); idx++) {
-                HighlightSetting setting = sortedAreas.get(idx);
-                
-                // 1. 将 24 小时制的 HH:MM 转换为总分钟数（0 到 1440）
-                int startTotalMinutes = setting.getStartHour() * 60 + setting.getStartMinute();
-                int endTotalMinutes = setting.getEndHour() * 60 + setting.getEndMinute();
-
-                // 2. 转换为 12 小时制下的总分钟数 (0 到 720)
-                int startMin12 = startTotalMinutes % 720;
-
-                // 3. 计算起始角度和扫描角度
-                float sweepStartAngle = 90f - (startMin12 * 0.5f);
-                float sweepAngle;
-                if (endTotalMinutes > startTotalMinutes) {
-                    sweepAngle = (endTotalMinutes - startTotalMinutes) * 0.5f;
-                } else {
-                    sweepAngle = (1440 - startTotalMinutes + endTotalMinutes) * 0.5f;
-                }
-
-                // 4. 判断当前时间是否在此高亮区域内
-                int currentTotalMinutes = currentHour24 * 60 + currentMinute;
-                boolean isCurrentTimeInRange = isTimeInHighlightRange(currentTotalMinutes, startTotalMinutes, endTotalMinutes);
-                boolean isHovered = (setting == hoveredSetting);
-
-                Color baseColor = setting.getHighlightColor();
-                
-                // 5. 检测是否与前一个/后一个时间段相邻
-                boolean hasAdjacentBefore = false;
-                boolean hasAdjacentAfter = false;
-                
-                for (int j = 0; j < sortedAreas.size(); j++) {
-                    if (j == idx) continue;
-                    HighlightSetting other = sortedAreas.get(j);
-                    int otherStart = other.getStartHour() * 60 + other.getStartMinute();
-                    int otherEnd = other.getEndHour() * 60 + other.getEndMinute();
-                    
-                    // 检查是否有其他段的结束时间等于当前段的开始时间
-                    if (otherEnd == startTotalMinutes) {
-                        hasAdjacentBefore = true;
-                    }
-                    // 检查是否有其他段的开始时间等于当前段的结束时间
-                    if (otherStart == endTotalMinutes) {
-                        hasAdjacentAfter = true;
-                    }
-                }
-                
-                // 悬停时放大圆环宽度
-                int actualRingWidth = isHovered ? (int)(ringWidth + 4 * scale) : ringWidth;
-                
-                // 6. 创建圆环形状
-                // 使用填充方式绘制圆环（内外两个椭圆的差集），端点用半圆
-                float halfWidth = actualRingWidth / 2.0f;
-                float innerRadius = ringRadius - halfWidth;
-                float outerRadius = ringRadius + halfWidth;
-                
-                // 创建主体弧形区域（使用扇形差集方式）
-                java.awt.geom.Arc2D outerArc = new java.awt.geom.Arc2D.Float(
-                    centerX - outerRadius, centerY - outerRadius,
-                    outerRadius * 2, outerRadius * 2,
-                    sweepStartAngle, -sweepAngle,
-                    java.awt.geom.Arc2D.PIE
-                );
-                java.awt.geom.Arc2D innerArc = new java.awt.geom.Arc2D.Float(
-                    centerX - innerRadius, centerY - innerRadius,
-                    innerRadius * 2, innerRadius * 2,
-                    sweepStartAngle, -sweepAngle,
-                    java.awt.geom.Arc2D.PIE
-                );
-                
-                java.awt.geom.Area ringArea = new java.awt.geom.Area(outerArc);
-                ringArea.subtract(new java.awt.geom.Area(innerArc));
-                
-                // 在独立端点添加半圆帽子（圆心在弧线的端点上，半径为线宽的一半）
-                if (!hasAdjacentBefore) {
-                    // 起始端的半圆帽子
-                    double startRad = Math.toRadians(sweepStartAngle);
-                    float capCenterX = (float)(centerX + ringRadius * Math.cos(startRad));
-                    float capCenterY = (float)(centerY - ringRadius * Math.sin(startRad));
-                    java.awt.geom.Ellipse2D startCap = new java.awt.geom.Ellipse2D.Float(
-                        capCenterX - halfWidth, capCenterY - halfWidth,
-                        actualRingWidth, actualRingWidth
-                    );
-                    ringArea.add(new java.awt.geom.Area(startCap));
-                }
-                
-                if (!hasAdjacentAfter) {
-                    // 结束端的半圆帽子
-                    double endRad = Math.toRadians(sweepStartAngle - sweepAngle);
-                    float capCenterX = (float)(centerX + ringRadius * Math.cos(endRad));
-                    float capCenterY = (float)(centerY - ringRadius * Math.sin(endRad));
-                    java.awt.geom.Ellipse2D endCap = new java.awt.geom.Ellipse2D.Float(
-                        capCenterX - halfWidth, capCenterY - halfWidth,
-                        actualRingWidth, actualRingWidth
-                    );
-                    ringArea.add(new java.awt.geom.Area(endCap));
-                }
-
-                // 根据状态设置不同的绘制效果
-                if (isCurrentTimeInRange) {
-                    // 当前时间在范围内：柔和渐变发光效果（多层，从外到内透明度递增）
-                    int glowLayers = 5;
-                    float maxGlowSize = 8 * scale;
-                    
-                    for (int layer = glowLayers; layer >= 1; layer--) {
-                        float layerGlowSize = maxGlowSize * layer / glowLayers;
-                        float glowHalfWidth = halfWidth + layerGlowSize;
-                        float glowInnerRadius = ringRadius - glowHalfWidth;
-                        float glowOuterRadius = ringRadius + glowHalfWidth;
-                        
-                        java.awt.geom.Arc2D glowOuterArc = new java.awt.geom.Arc2D.Float(
-                            centerX - glowOuterRadius, centerY - glowOuterRadius,
-                            glowOuterRadius * 2, glowOuterRadius * 2,
-                            sweepStartAngle, -sweepAngle,
-                            java.awt.geom.Arc2D.PIE
-                        );
-                        java.awt.geom.Arc2D glowInnerArc = new java.awt.geom.Arc2D.Float(
-                            centerX - glowInnerRadius, centerY - glowInnerRadius,
-                            glowInnerRadius * 2, glowInnerRadius * 2,
-                            sweepStartAngle, -sweepAngle,
-                            java.awt.geom.Arc2D.PIE
-                        );
-                        
-                        java.awt.geom.Area glowArea = new java.awt.geom.Area(glowOuterArc);
-                        glowArea.subtract(new java.awt.geom.Area(glowInnerArc));
-                        
-                        // 发光层的端点帽子
-                        if (!hasAdjacentBefore) {
-                            double startRad = Math.toRadians(sweepStartAngle);
-                            float capCenterX = (float)(centerX + ringRadius * Math.cos(startRad));
-                            float capCenterY = (float)(centerY - ringRadius * Math.sin(startRad));
-                            java.awt.geom.Ellipse2D startCap = new java.awt.geom.Ellipse2D.Float(
-                                capCenterX - glowHalfWidth, capCenterY - glowHalfWidth,
-                                glowHalfWidth * 2, glowHalfWidth * 2
-                            );
-                            glowArea.add(new java.awt.geom.Area(startCap));
-                        }
-                        if (!hasAdjacentAfter) {
-                            double endRad = Math.toRadians(sweepStartAngle - sweepAngle);
-                            float capCenterX = (float)(centerX + ringRadius * Math.cos(endRad));
-                            float capCenterY = (float)(centerY - ringRadius * Math.sin(endRad));
-                            java.awt.geom.Ellipse2D endCap = new java.awt.geom.Ellipse2D.Float(
-                                capCenterX - glowHalfWidth, capCenterY - glowHalfWidth,
-                                glowHalfWidth * 2, glowHalfWidth * 2
-                            );
-                            glowArea.add(new java.awt.geom.Area(endCap));
-                        }
-                        
-                        // 透明度从外层到内层递增：外层最淡，内层较浓
-                        int alpha = 15 + (glowLayers - layer) * 8;
-                        Color glowColor = new Color(baseColor.getRed(), baseColor.getGreen(), baseColor.getBlue(), alpha);
-                        g2d.setColor(glowColor);
-                        g2d.fill(glowArea);
-                    }
-                    
-                    // 主体颜色加亮
-                    g2d.setColor(brightenColor(baseColor, 1.2f));
-                } else {
-                    g2d.setColor(baseColor);
-                }
-                
-                // 一次性填充合并后的形状，避免重叠
-                g2d.fill(ringArea);
-
-                // 7. 绘制标签（沿弧线切线方向排列）
-                if (showLabels && setting.getLabel() != null && !setting.getLabel().trim().isEmpty()) {
-                    float startAngle = startTotalMinutes * 0.5f;
-                    float endAngle = endTotalMinutes * 0.5f;
-
-                    float midAngleDeg;
-                    if (endAngle > startAngle) {
-                        midAngleDeg = (startAngle + endAngle) / 2.0f;
-                    } else {
-                        midAngleDeg = (startAngle + endAngle + 360) / 2.0f;
-                        if (midAngleDeg >= 360) midAngleDeg -= 360;
-                    }
-
-                    double awtAngleRad = Math.toRadians(90 - midAngleDeg);
-                    int labelRadius = (int) (ringRadius * 0.65);
-                    int labelX = (int) (centerX + labelRadius * Math.cos(awtAngleRad));
-                    int labelY = (int) (centerY - labelRadius * Math.sin(awtAngleRad));
-
-                    java.awt.geom.AffineTransform oldTransform = g2d.getTransform();
-                    
-                    // 文字沿切线方向：切线角度 = 径向角度 + 90度
-                    // midAngleDeg 是从12点顺时针的角度
-                    // 切线方向应该是垂直于径向的
-                    double tangentAngle = midAngleDeg;  // 切线方向（沿圆周）
-                    
-                    // 如果在下半圆（90-270度），文字会倒过来，需要翻转
-                    if (midAngleDeg > 90 && midAngleDeg < 270) {
-                        tangentAngle += 180;
-                    }
-                    
-                    g2d.translate(labelX, labelY);
-                    g2d.rotate(Math.toRadians(tangentAngle));
-
-                    g2d.setColor(setting.getLabelColor());
-                    Font labelFont = new Font("Microsoft YaHei", Font.BOLD, (int)(9 * scale));
-                    g2d.setFont(labelFont);
-
-                    FontMetrics fm = g2d.getFontMetrics();
-                    String label = setting.getLabel().trim();
-                    int labelWidth = fm.stringWidth(label);
-                    int labelHeight = fm.getAscent();
-
-                    g2d.drawString(label, -labelWidth / 2, labelHeight / 3);
-                    
-                    g2d.setTransform(oldTransform);
-                }
+        private void setHoveredSetting(HighlightSetting newHovered) {
+            if (newHovered != renderer.getHoveredSetting()) {
+                renderer.setHoveredSetting(newHovered);
+                // 设置鼠标指针：高亮区域上显示手掌，否则默认
+                setCursor(newHovered != null
+                    ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR)
+                    : Cursor.getDefaultCursor());
+                // 悬停区域已是静态图层缓存键的一部分，不升级静态版本，各档位的预渲染图层继续有效
+                repaintPlanner.requestFullRepaint();
+                requestFrame();
             }
-            
-            g2d.setStroke(new BasicStroke(1));
         }
-
+        
         /**
-         * 绘制分钟刻度
+         * 显示 Toast 提示
          */
-        private void drawMinuteMarks(Graphics2D g2d, int currentSize, int centerX, int centerY) {
-            int radius = currentSize / 2;
-            
-            for (int i = 0; i < 60; i++) {
-                double angle = Math.toRadians(i * 6 - 90);
-                
-                int outerRadius, innerRadius;
-                Color markColor;
-                float strokeWidth;
-                
-                if (i % 5 == 0) {
-                    // 小时刻度（较长较粗）
-                    outerRadius = (int)(radius * 0.98);
-                    innerRadius = (int)(radius * 0.90);
-                    markColor = new Color(numberColor.getRed(), numberColor.getGreen(), numberColor.getBlue(), 200);
-                    strokeWidth = 2 * scale;
-                } else {
-                    // 分钟刻度（较短较细）
-                    outerRadius = (int)(radius * 0.98);
-                    innerRadius = (int)(radius * 0.94);
-                    markColor = new Color(numberColor.getRed(), numberColor.getGreen(), numberColor.getBlue(), 80);
-                    strokeWidth = 1 * scale;
-                }
-                
-                int x1 = (int)(centerX + outerRadius * Math.cos(angle));
-                int y1 = (int)(centerY + outerRadius * Math.sin(angle));
-                int x2 = (int)(centerX + innerRadius * Math.cos(angle));
-                int y2 = (int)(centerY + innerRadius * Math.sin(angle));
-                
-                g2d.setColor(markColor);
-                g2d.setStroke(new BasicStroke(strokeWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-                g2d.drawLine(x1, y1, x2, y2);
-            }
+        public void showToast(String message) {
+            Rectangle previous = toastBounds;
+            renderer.showToast(message, System.currentTimeMillis() + TOAST_DURATION);
+            toastBounds = renderer.getToastBounds();
+            // 只重绘新旧提示框（旧提示可能更宽），连续切换时不触发全量重绘
+            repaintToast(previous);
+            repaintToast(toastBounds);
+            toastFadeTimer.setInitialDelay(TOAST_DURATION - ClockRenderer.TOAST_FADE_MILLIS);
+            toastFadeTimer.restart();
         }
 
         /**
-         * 绘制数字 - 增加与圆环的间距
+         * 淡出阶段每帧重绘提示框；提示消失后再重绘一次擦除，然后停止
          */
-        private void drawNumbers(Graphics2D g2d, int currentSize, int centerX, int centerY) {
-            Font font = new Font("Arial", Font.PLAIN, (int)(12 * scale));
-            g2d.setFont(font);
-            FontMetrics fm = g2d.getFontMetrics(font);
-            int radius = currentSize / 2;
-
-            for (int i = 1; i <= 12; i++) {
-                double angle = Math.toRadians(i * 30 - 90);
-                // 数字位置稍微外移，增加与圆环的间距
-                int x = Math.toIntExact(Math.round(centerX + radius * 0.82 * Math.cos(angle)));
-                int y = Math.toIntExact(Math.round(centerY + radius * 0.82 * Math.sin(angle)));
-
-                String num = String.valueOf(i);
-                int strWidth = fm.stringWidth(num);
-                int strHeight = fm.getAscent();
-                
-                // 数字颜色带透明度，更柔和
-                g2d.setColor(new Color(numberColor.getRed(), numberColor.getGreen(), numberColor.getBlue(), 220));
-                g2d.drawString(num, x - strWidth / 2, y + strHeight / 3);
+        private void onToastFadeFrame() {
+            if (!renderer.isToastActive()) {
+                toastFadeTimer.stop();
+            }
+            // 淡出期间缩放可能变化，重新取提示框区域
+            Rectangle previous = toastBounds;
+            toastBounds = renderer.getToastBounds();
+            if (previous != null && !previous.equals(toastBounds)) {
+                repaintToast(previous);
             }
+            repaintToast(toastBounds);
         }
 
-        /**
-         * 绘制带阴影的指针
-         */
-        private void drawHandWithShadow(Graphics2D g2d, double angle, int length, int thickness, Color color, int centerX, int centerY) {
-            int x = (int) (centerX + length * Math.cos(angle));
-            int y = (int) (centerY + length * Math.sin(angle));
-
-            // 绘制阴影
-            g2d.setColor(new Color(0, 0, 0, 40));
-            g2d.setStroke(new BasicStroke(thickness + 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            g2d.drawLine(centerX + 2, centerY + 2, x + 2, y + 2);
-
-            // 绘制指针主体
-            g2d.setColor(color);
-            g2d.setStroke(new BasicStroke(thickness, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            g2d.drawLine(centerX, centerY, x, y);
+        private void repaintToast(Rectangle bounds) {
+            if (bounds == null) {
+                return;
+            }
+            if (activeRenderLoop != null) {
+                activeRenderLoop.requestFrame();
+            } else {
+                repaint(bounds);
+            }
         }
 
-        /**
-         * 判断当前时间是否在高亮区域范围内
-         */
-        private boolean isTimeInHighlightRange(int currentMinutes, int startMinutes, int endMinutes) {
-            if (startMinutes <= endMinutes) {
-                // 不跨越午夜的情况
-                return currentMinutes >= startMinutes && currentMinutes < endMinutes;
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (renderScheduler != null) {
+                renderScheduler.frameRendered();
+            }
+            // 主动渲染时只贴渲染线程完成的最新一帧（第一帧完成前不绘制，绘制缓存只由渲染线程使用）
+            if (activeRenderLoop != null) {
+                activeRenderLoop.drawFrame((Graphics2D) g);
             } else {
-                // 跨越午夜的情况
-                return currentMinutes >= startMinutes || currentMinutes < endMinutes;
+                renderer.paint((Graphics2D) g, LocalTime.now());
             }
         }
 
         /**
-         * 增亮颜色（用于渐变和发光效果）
+         * 按时钟定时器节奏重绘：只重绘指针扫过的区域，必要时回退全量重绘
          */
-        private Color brightenColor(Color color, float factor) {
-            int r = color.getRed();
-            int g = color.getGreen();
-            int b = color.getBlue();
-            int alpha = color.getAlpha();
-            
-            // 增亮RGB值，但不超过255
-            r = Math.min(255, (int)(r * factor));
-            g = Math.min(255, (int)(g * factor));
-            b = Math.min(255, (int)(b * factor));
-            
-            return new Color(r, g, b, alpha);
+        public void repaintHands() {
+            LocalTime now = LocalTime.now();
+            Rectangle dirty = repaintPlanner.plan(renderer.getHandBounds(now), now.getHour() * 60 + now.getMinute());
+            if (dirty == null) {
+                repaint();
+            } else {
+                repaint(dirty);
+            }
         }
     }
 
@@ -1153,18 +840,23 @@ public class AnalogClock extends JFrame {
     // 内部类：高亮区域设置 (更新)
     // =========================================================================
 
-    class HighlightSetting {
-        private int startHour;
-        private int startMinute;
-        private int endHour;
-        private int endMinute;
+    static class HighlightSetting {
+        private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+        // 创建时分配的唯一编号（不持久化）：时间相同的两个区域也各自独立
+        private final int id = NEXT_ID.getAndIncrement();
+        // 时间和触发器创建后不再修改：编辑区域时新建一个设置（新编号），监控器按编号重新初始化
+        private final int startHour;
+        private final int startMinute;
+        private final int endHour;
+        private final int endMinute;
         private Color highlightColor;
         private String label;
         private Color labelColor;
         
-        private ClockConfig.TriggerConfig enter;
-        private ClockConfig.TriggerConfig exit;
-        private ClockConfig.TriggerConfig interval;
+        private final ClockConfig.TriggerConfig enter;
+        private final ClockConfig.TriggerConfig exit;
+        private final ClockConfig.TriggerConfig interval;
 
         public HighlightSetting(int startHour, int startMinute, int endHour, int endMinute, Color highlightColor, String label, Color labelColor) {
             this(startHour, startMinute, endHour, endMinute, highlightColor, label, labelColor, 
@@ -1180,11 +872,13 @@ public class AnalogClock extends JFrame {
             this.highlightColor = highlightColor;
             this.label = label;
             this.labelColor = labelColor;
-            this.enter = enter != null ? enter : new ClockConfig.TriggerConfig();
-            this.exit = exit != null ? exit : new ClockConfig.TriggerConfig();
-            this.interval = interval != null ? interval : new ClockConfig.TriggerConfig();
+            // 拷贝一份：传入的触发器（配置文件中的对象）之后被修改也不影响本区域
+            this.enter = enter != null ? new ClockConfig.TriggerConfig(enter) : new ClockConfig.TriggerConfig();
+            this.exit = exit != null ? new ClockConfig.TriggerConfig(exit) : new ClockConfig.TriggerConfig();
+            this.interval = interval != null ? new ClockConfig.TriggerConfig(interval) : new ClockConfig.TriggerConfig();
         }
 
+        public int getId() { return id; }
         public int getStartHour() { return startHour; }
         public int getStartMinute() { return startMinute; }
         public int getEndHour() { return endHour; }
@@ -1226,7 +920,7 @@ public class AnalogClock extends JFrame {
     // 内部类：设置对话框 (更新)
     // =========================================================================
 
-    class SettingsDialog extends JDialog {
+    static class SettingsDialog extends JDialog {
 
         private ClockPanel clockPanel;
         private DefaultListModel<HighlightSetting> listModel;
@@ -1300,22 +994,6 @@ public class AnalogClock extends JFrame {
             }
         }
 
-        // 预设主题定义
-        private static final String[] THEME_NAMES = {"自定义", "深色经典", "浅色简约", "护眼绿", "暗夜蓝", "暖橙色"};
-        private static final Color[][] THEMES = {
-            null, // 自定义 - 不改变颜色
-            // 深色经典: 表盘背景, 数字, 时针, 分针, 秒针, 默认高亮
-            {new Color(50, 50, 50), Color.WHITE, Color.WHITE, Color.LIGHT_GRAY, Color.RED, new Color(0xDD, 0x77, 0x0, 80)},
-            // 浅色简约
-            {new Color(240, 240, 235), new Color(60, 60, 60), new Color(40, 40, 40), new Color(80, 80, 80), new Color(200, 50, 50), new Color(100, 150, 200, 100)},
-            // 护眼绿
-            {new Color(40, 55, 45), new Color(200, 230, 200), new Color(180, 210, 180), new Color(150, 180, 150), new Color(100, 200, 100), new Color(80, 150, 80, 100)},
-            // 暗夜蓝
-            {new Color(25, 35, 55), new Color(180, 200, 230), new Color(150, 180, 220), new Color(120, 150, 190), new Color(100, 180, 255), new Color(70, 130, 200, 100)},
-            // 暖橙色
-            {new Color(55, 40, 35), new Color(255, 220, 180), new Color(255, 200, 150), new Color(220, 180, 140), new Color(255, 140, 60), new Color(255, 150, 80, 100)}
-        };
-
         /**
          * 创建样式和颜色设置面板 (更新默认高亮颜色设置)
          */
@@ -1326,22 +1004,19 @@ public class AnalogClock extends JFrame {
             // 预设主题选择
             JPanel themePanel = new JPanel(new BorderLayout(10, 5));
             themePanel.add(new JLabel("预设主题:"), BorderLayout.WEST);
-            JComboBox<String> themeCombo = new JComboBox<>(THEME_NAMES);
+            // 第一项为自定义（不改变颜色），其余为预设主题
+            JComboBox<String> themeCombo = new JComboBox<>();
+            themeCombo.addItem("自定义");
+            for (Theme theme : Theme.PRESETS) {
+                themeCombo.addItem(theme.name());
+            }
+            if (clockPanel.getThemeName() != null) {
+                themeCombo.setSelectedItem(clockPanel.getThemeName());
+            }
             themeCombo.addActionListener(e -> {
                 int idx = themeCombo.getSelectedIndex();
-                if (idx > 0 && THEMES[idx] != null) {
-                    Color[] theme = THEMES[idx];
-                    clockPanel.setClockColor(theme[0]);
-                    clockPanel.setNumberColor(theme[1]);
-                    clockPanel.setHourHandColor(theme[2]);
-                    clockPanel.setMinuteHandColor(theme[3]);
-                    clockPanel.setSecondHandColor(theme[4]);
-                    clockPanel.setDefaultHighlightColor(theme[5]);
-                    // 更新所有高亮区域的标签颜色，使用数字颜色以确保可读性
-                    for (HighlightSetting setting : clockPanel.getHighlightAreas()) {
-                        setting.setLabelColor(theme[1]);
-                    }
-                    clockPanel.repaint();
+                if (idx > 0) {
+                    clockPanel.applyTheme(Theme.PRESETS.get(idx - 1));
                 }
             });
             themePanel.add(themeCombo, BorderLayout.CENTER);
@@ -1376,6 +1051,18 @@ public class AnalogClock extends JFrame {
             labelSettingPanel.add(showLabelsCheckBox, BorderLayout.EAST);
             panel.add(labelSettingPanel);
 
+            // 主动渲染设置
+            JPanel activeRenderingPanel = new JPanel(new BorderLayout(10, 5));
+            activeRenderingPanel.add(new JLabel("独立渲染线程:"), BorderLayout.WEST);
+            JCheckBox activeRenderingCheckBox = new JCheckBox();
+            activeRenderingCheckBox.setSelected(clockPanel.isActiveRendering());
+            activeRenderingCheckBox.setToolTipText("由独立线程绘制表盘，设置窗口或提醒弹窗忙碌时秒针不卡顿");
+            activeRenderingCheckBox.addActionListener(e -> {
+                clockPanel.setActiveRendering(activeRenderingCheckBox.isSelected());
+            });
+            activeRenderingPanel.add(activeRenderingCheckBox, BorderLayout.EAST);
+            panel.add(activeRenderingPanel);
+
             // 透明度设置
             JPanel opacityPanel = new JPanel(new BorderLayout(10, 5));
             AnalogClock parentFrame = (AnalogClock) getOwner();
@@ -1621,33 +1308,18 @@ public class AnalogClock extends JFrame {
                     return;
                 }
 
-                // 应用更改
-                settingToEdit.startHour = startH;
-                settingToEdit.startMinute = startM;
-                settingToEdit.endHour = endH;
-                settingToEdit.endMinute = endM;
-                settingToEdit.setHighlightColor(tempColor[0]);
-                settingToEdit.setLabel(label);
-                settingToEdit.setLabelColor(tempLabelColor[0]);
-                
-                // 更新触发器配置
-                settingToEdit.enter.action = enterTriggerPanel.getAction();
-                settingToEdit.enter.text = enterTriggerPanel.getText();
-                settingToEdit.enter.playSound = enterTriggerPanel.getPlaySound();
-                
-                settingToEdit.exit.action = exitTriggerPanel.getAction();
-                settingToEdit.exit.text = exitTriggerPanel.getText();
-                settingToEdit.exit.playSound = exitTriggerPanel.getPlaySound();
-                
-                settingToEdit.interval.action = intervalTriggerPanel.getAction();
-                settingToEdit.interval.text = intervalTriggerPanel.getText();
-                settingToEdit.interval.intervalMinutes = intervalTriggerPanel.getInterval();
-                settingToEdit.interval.playSound = intervalTriggerPanel.getPlaySound();
+                // 应用更改：新建一个设置（新编号）替换原来的，不修改原对象
+                // 监控器按编号把它当作新区域，原区域未关闭的提醒窗口不会压住新区域的第一次提醒
+                HighlightSetting edited = new HighlightSetting(startH, startM, endH, endM,
+                        tempColor[0], label, tempLabelColor[0],
+                        enterTriggerPanel.toConfig(), exitTriggerPanel.toConfig(), intervalTriggerPanel.toConfig());
 
-                if (isNew) {
-                    listModel.addElement(settingToEdit);
+                int index = isNew ? -1 : listModel.indexOf(settingToEdit);
+                if (index != -1) {
+                    listModel.set(index, edited);
+                    highlightList.setSelectedIndex(index);
                 } else {
-                    highlightList.repaint();
+                    listModel.addElement(edited);
                 }
 
                 updateClockHighlights();
@@ -1662,6 +1334,8 @@ public class AnalogClock extends JFrame {
             private JCheckBox soundCheckBox;
             private String[] actionValues = {"none", "dialog", "fullscreen", "lock"};
             private String[] actionNames = {"无", "弹窗提醒", "全屏提醒", "自动锁屏"};
+            // 没有间隔设置的面板保留原来的间隔值
+            private final int originalInterval;
 
             public TriggerPanel(ClockConfig.TriggerConfig config, String typeName, boolean isInterval, Color[] colorRef, Color[] labelColorRef) {
                 setLayout(new GridBagLayout());
@@ -1669,6 +1343,7 @@ public class AnalogClock extends JFrame {
                 GridBagConstraints gbc = new GridBagConstraints();
                 gbc.fill = GridBagConstraints.HORIZONTAL;
                 gbc.insets = new Insets(5, 5, 5, 5);
+                originalInterval = config != null ? config.intervalMinutes : 0;
                 
                 // 动作选择
                 gbc.gridx = 0; gbc.gridy = 0; gbc.weightx = 0.3;
@@ -1744,6 +1419,14 @@ public class AnalogClock extends JFrame {
             public boolean getPlaySound() {
                 return soundCheckBox.isSelected();
             }
+
+            /**
+             * 按面板当前的输入新建触发器配置
+             */
+            public ClockConfig.TriggerConfig toConfig() {
+                return new ClockConfig.TriggerConfig(getAction(), getText(),
+                        intervalSpinner != null ? getInterval() : originalInterval, getPlaySound());
+            }
         }
 
         private void deleteHighlightArea() {
@@ -1773,24 +1456,21 @@ public class AnalogClock extends JFrame {
             for (int i = 0; i < listModel.getSize(); i++) {
                 newSettings.add(listModel.getElementAt(i));
             }
+            // 同时更新时间范围监控器（共享区域索引）
             clockPanel.setHighlightAreas(newSettings);
 
             AnalogClock parent = (AnalogClock) getParent();
             parent.saveCurrentConfig();
-            
-            // 更新时间范围监控器
-            if (parent.timeRangeMonitor != null) {
-                parent.timeRangeMonitor.updateHighlightAreas(newSettings);
-            }
         }
 
         // 预览触发效果
         private void previewAction(String action, String message, Color bgColor, Color textColor, boolean playSound) {
-            TimeRangeMonitor tempMonitor = new TimeRangeMonitor(new ArrayList<>());
+            // 预览不受防重复限制，不经过监控器状态；提示音在监控器的执行器上播放，不另建线程
+            TimeRangeMonitor monitor = clockPanel.timeRangeMonitor;
             
             // 预览声音
             if (playSound) {
-                tempMonitor.previewSound();
+                monitor.previewSound();
             }
             
             if ("none".equals(action)) {
@@ -1802,10 +1482,10 @@ public class AnalogClock extends JFrame {
             
             switch (action) {
                 case "dialog":
-                    tempMonitor.previewDialogNotification(message, bgColor, textColor);
+                    monitor.previewDialogNotification(message, bgColor, textColor);
                     break;
                 case "fullscreen":
-                    tempMonitor.previewFullscreenNotification(message, bgColor, textColor);
+                    monitor.previewFullscreenNotification(message, bgColor, textColor);
                     break;
                 case "lock":
                     int result = JOptionPane.showConfirmDialog(this, 
@@ -1814,7 +1494,7 @@ public class AnalogClock extends JFrame {
                         JOptionPane.YES_NO_OPTION, 
                         JOptionPane.WARNING_MESSAGE);
                     if (result == JOptionPane.YES_OPTION) {
-                        tempMonitor.previewLockScreen();
+                        monitor.previewLockScreen();
                     }
                     break;
             }
@@ -24,6 +24,15 @@ public class ClockConfig {
     // 全局设置：是否在表盘显示标签
     public boolean showLabels = true;
 
+    // 是否使用独立渲染线程绘制表盘（默认由 Swing 定时重绘）
+    public boolean activeRendering = false;
+
+    // 预设主题名（见 Theme.PRESETS），null 表示自定义颜色
+    public String theme = null;
+
+    // 高亮圆环是否沿弧线使用锥形渐变（由主题决定）
+    public boolean gradientRings = false;
+
     // 颜色属性 - 直接使用 Color 类型，并指定序列化/反序列化器
     @JsonSerialize(using = ColorSerializer.class)
     @JsonDeserialize(using = ColorDeserializer.class)
@@ -113,6 +122,10 @@ public class ClockConfig {
             this.intervalMinutes = intervalMinutes;
             this.playSound = playSound;
         }
+
+        public TriggerConfig(TriggerConfig other) {
+            this(other.action, other.text, other.intervalMinutes, other.playSound);
+        }
     }
 
     // 辅助类：用于存储高亮区域的可序列化版本
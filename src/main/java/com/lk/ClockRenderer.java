@@ -0,0 +1,1426 @@
+package com.lk;
+
+import com.lk.AnalogClock.HighlightSetting;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 表盘渲染器：按给定时刻、配置、缩放和悬停状态把表盘绘制到任意 Graphics2D / BufferedImage 上
+ * 不依赖窗口、鼠标和定时器，可在 java.awt.headless=true 下离屏渲染（基准测试、图像比对）
+ * ClockPanel 只负责输入和重绘调度，绘制全部委托给本类
+ * 线程模型：
+ * - 修改方法可在任意线程调用，彼此互斥，每次修改后发布一个新的 RenderModel 快照（一次 volatile 写）
+ * - 绘制、命中测试和各 getter 只读取当前快照，不加锁
+ * - 图层、几何缓存只属于绘制线程：同一时刻只能有一个线程调用 paint（EDT 或主动渲染线程）
+ */
+public class ClockRenderer {
+
+    public static final int BASE_CLOCK_SIZE = 200;
+
+    /**
+     * 细节层级：按表盘的实际像素尺寸（含 HiDPI 缩放）选择，小尺寸下省略看不清的细节
+     * 指针的渲染提示另由渲染策略决定：平滑走动时用较快的提示，静态图层始终按最高质量绘制
+     */
+    public enum DetailLevel {
+        /** 120 像素以下：只画整点刻度，发光 2 层，不画指针阴影，放不下的标签不画 */
+        LOW(false, 2, false, true),
+        /** 120-180 像素：发光 3 层，放不下的标签不画 */
+        MEDIUM(true, 3, true, true),
+        /** 180 像素以上：全部细节 */
+        HIGH(true, 5, true, false);
+
+        final boolean minorMarks;
+        final int glowLayers;
+        final boolean handShadows;
+        final boolean labelsMustFit;
+
+        DetailLevel(boolean minorMarks, int glowLayers, boolean handShadows, boolean labelsMustFit) {
+            this.minorMarks = minorMarks;
+            this.glowLayers = glowLayers;
+            this.handShadows = handShadows;
+            this.labelsMustFit = labelsMustFit;
+        }
+
+        static DetailLevel forPixelSize(double pixels) {
+            if (pixels < 120) {
+                return LOW;
+            }
+            return pixels < 180 ? MEDIUM : HIGH;
+        }
+    }
+
+    /**
+     * 指针层（三根指针和中心点）的绘制方式
+     */
+    public enum HandRenderMode {
+        /** 每帧用 Graphics2D 描边（硬阴影，默认） */
+        STROKE,
+        /** 旋转贴图预渲染的指针贴图（模糊阴影，需显式开启：每帧经过 Java2D 的旋转贴图管线，分配和耗时都更高） */
+        SPRITE,
+        /** 软件光栅化直接写入像素数组后一次贴图（硬阴影，几何与 STROKE 一致） */
+        RASTER
+    }
+
+    // 写入方状态：只在 synchronized 的修改方法中访问，修改后由 publish() 整体发布
+    private float scale;
+    private List<HighlightSetting> highlightAreas;
+    private HighlightSchedule schedule;
+    private Color clockColor;
+    private Color numberColor;
+    private Color hourHandColor;
+    private Color minuteHandColor;
+    private Color secondHandColor;
+    // 全局设置：是否显示标签
+    private boolean showLabels;
+    // 鼠标悬停的高亮区域
+    private HighlightSetting hoveredSetting = null;
+    // Toast 提示相关
+    private String toastMessage = null;
+    private long toastEndTime = 0;
+    // 当前渲染策略：TICK 时秒针停在整秒刻度，MINUTE 时不绘制秒针
+    private RenderScheduler.RenderPolicy renderPolicy = RenderScheduler.RenderPolicy.SMOOTH;
+    // 强制使用的细节层级（基准测试用），null 表示自动选择
+    private DetailLevel forcedDetailLevel = null;
+    // 指针层绘制方式
+    private HandRenderMode handRenderMode = HandRenderMode.STROKE;
+    // 高亮圆环使用锥形渐变
+    private boolean gradientRings;
+    // 由数字颜色和高亮颜色编译出的调色板
+    private ThemePalette palette;
+    private int geometryVersion = 0;
+    private int staticVersion = 0;
+    // 静态图层版本号分配器：切换主题时先为后台预渲染的图层预留版本号，换上前不被其他修改占用
+    private int staticVersionCounter = 0;
+
+    // 当前发布的渲染模型：读取方只读这一个字段
+    private volatile RenderModel model;
+
+    // 以下为绘制线程状态
+
+    // 最近一帧使用的细节层级（绘制线程写入，其他线程可读）
+    private volatile DetailLevel detailLevel = null;
+    // 当前快照对应的绘制上下文
+    private LayerContext layerContext = null;
+
+    // 当前使用的静态表盘图层：表盘背景、底轨、非活跃高亮圆环及标签、刻度、数字
+    // 键不变（内容版本、缩放、细节层级、活跃/悬停区域都没变）时直接贴图，变化时先查图层缓存再重建
+    private BufferedImage staticLayer = null;
+    private ScaleLayerCache.Key staticLayerKey = null;
+    // 静态图层缓存（按键缓存多张图层，可在后台预渲染其他缩放档位），线程安全
+    private final ScaleLayerCache layerCache = new ScaleLayerCache();
+    // 下一帧绘制后在后台预渲染所有缩放档位
+    private volatile boolean prerenderRequested = false;
+    // 最近一帧的绘制目标（切换主题时按它在后台预渲染静态图层）
+    private volatile GraphicsConfiguration lastGc = null;
+    private volatile double lastDeviceScale = 1;
+    // 切换主题时在后台预先生成的指针贴图（当前缩放），指针颜色变化后绘制线程优先取用
+    private volatile PrebuiltSprites prebuiltSprites = null;
+
+    private record PrebuiltSprites(float scale, HandSprite hour, HandSprite minute, HandSprite second) {}
+
+    // 按缩放分别保存的绘制资源和圆环几何缓存：滚轮缩放在档位间来回切换时不必重建
+    // 快照的几何版本（高亮区域）变化时全部清空
+    private static final int MAX_SCALE_STATES = 32;
+    private final Map<Float, ScaleState> scaleStates = new HashMap<>();
+    private int scaleStatesVersion = -1;
+    private ScaleState scaleState = null;
+    // RASTER 方式的指针层像素缓冲
+    private final HandRasterizer handRasterizer = new HandRasterizer();
+
+    /**
+     * 单个高亮区域的几何缓存，按 (悬停, 前相邻, 后相邻) 组合索引，查询时无需创建 key 对象
+     */
+    private static final class RingCacheEntry {
+        final Shape[] shapes = new Shape[8];
+        final ActiveRingSprite[] activeSprites = new ActiveRingSprite[8];
+        // 锥形渐变：[0] 普通，[1] 当前时间所在（加亮）；渐变栅格随实例缓存
+        final ConicGradientPaint[] gradients = new ConicGradientPaint[2];
+        Shape labelShape;
+        String labelText;
+
+        static int variant(boolean hovered, boolean adjacentBefore, boolean adjacentAfter) {
+            return (hovered ? 4 : 0) | (adjacentBefore ? 2 : 0) | (adjacentAfter ? 1 : 0);
+        }
+    }
+
+    /**
+     * 当前时间所在区域的预渲染贴图（发光、主体、标签）
+     * @param fill 主体的填充（纯色或缓存的渐变实例）
+     * @param labelShape 标签轮廓（缓存实例），没有标签时为 null
+     */
+    private record ActiveRingSprite(BufferedImage image, int x, int y, Paint fill, Shape labelShape,
+                                    Color labelColor) {
+
+        /**
+         * 颜色、渐变开关、标签都未变化（按值比较颜色，按引用比较缓存的渐变和轮廓）
+         */
+        boolean matches(Paint fill, Shape labelShape, Color labelColor) {
+            return (this.fill == fill || this.fill instanceof Color && this.fill.equals(fill))
+                    && this.labelShape == labelShape
+                    && (labelShape == null || this.labelColor.equals(labelColor));
+        }
+    }
+
+    /**
+     * 单个缩放下的绘制状态
+     * - 绘制资源表（颜色、线条、字体），数字颜色变化时重新计算
+     * - 高亮圆环几何缓存（按区域的形状和当前区域贴图）：稳态帧直接填充缓存的路径、合成缓存的贴图，不做 Area 差集/并集运算；
+     *   细节层级变化时清空，当前区域贴图在颜色、渐变或标签变化时重新生成
+     */
+    private static final class ScaleState {
+        final float scale;
+        RenderResources resources;
+        DetailLevel detail;
+        final Map<HighlightSetting, RingCacheEntry> ringCache = new IdentityHashMap<>();
+        // 指针贴图，指针颜色或阴影开关变化时重新生成
+        HandSprite hourSprite;
+        HandSprite minuteSprite;
+        HandSprite secondSprite;
+
+        ScaleState(float scale) {
+            this.scale = scale;
+        }
+    }
+
+    /**
+     * 绘制圆环和静态图层所需的上下文：绘制线程每个快照一份，预渲染任务各自创建一份（独立的几何缓存）
+     * @param gc 图层图像的目标设备配置，取自绘制用的 Graphics2D（离屏绘制时为图像自身的配置）
+     */
+    private record LayerContext(RenderModel model, RenderResources resources, DetailLevel detail,
+                                Map<HighlightSetting, RingCacheEntry> ringCache, GraphicsConfiguration gc) {}
+
+    // 与配置无关的固定绘制资源
+    private static final Color RING_TRACK_COLOR = new Color(60, 60, 60, 180);
+    private static final Color HAND_SHADOW_COLOR = new Color(0, 0, 0, 40);
+    private static final Color CENTER_DOT_SHADOW_COLOR = new Color(0, 0, 0, 60);
+    private static final Color CENTER_DOT_COLOR = new Color(240, 240, 240);
+    private static final Color CENTER_DOT_HIGHLIGHT_COLOR = new Color(255, 255, 255, 200);
+    private static final Color TOAST_BACKGROUND_COLOR = new Color(0, 0, 0, 200);
+    private static final Stroke DEFAULT_STROKE = new BasicStroke(1);
+
+    private record HandStrokes(Stroke body, Stroke shadow) {
+        static HandStrokes of(int thickness) {
+            return new HandStrokes(
+                    new BasicStroke(thickness, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND),
+                    new BasicStroke(thickness + 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        }
+    }
+
+    /**
+     * 由缩放派生出的绘制资源（线条、字体、刻度布局），构造后只读；缩放变化时整体重建
+     * 颜色全部来自渲染模型的调色板，切换主题不需要重建
+     */
+    private static final class RenderResources {
+        final float scale;
+        final Stroke ringTrackStroke;
+        final Stroke hourMarkStroke;
+        final Stroke minuteMarkStroke;
+        final Font numberFont;
+        final FontMetrics numberMetrics;
+        final Font labelFont;
+        final FontMetrics labelMetrics;
+        final HandStrokes hourHandStrokes;
+        final HandStrokes minuteHandStrokes;
+        final HandStrokes secondHandStrokes;
+        final DialLayout dialLayout;
+
+        RenderResources(RenderModel m) {
+            scale = m.scale();
+            // 字体度量取自离屏图像，不依赖组件和屏幕
+            Graphics2D metricsGraphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+            int ringWidth = (int) (10 * scale);
+            ringTrackStroke = new BasicStroke(ringWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+            hourMarkStroke = new BasicStroke(2 * scale, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+            minuteMarkStroke = new BasicStroke(1 * scale, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+            numberFont = new Font("Arial", Font.PLAIN, (int) (12 * scale));
+            numberMetrics = metricsGraphics.getFontMetrics(numberFont);
+            labelFont = new Font("Microsoft YaHei", Font.BOLD, (int) (9 * scale));
+            labelMetrics = metricsGraphics.getFontMetrics(labelFont);
+            metricsGraphics.dispose();
+
+            hourHandStrokes = HandStrokes.of((int) (5 * scale));
+            minuteHandStrokes = HandStrokes.of((int) (3 * scale));
+            secondHandStrokes = HandStrokes.of((int) (1.5f * scale));
+
+            dialLayout = new DialLayout(m.clockSize(), numberFont, numberMetrics);
+        }
+
+        boolean matches(RenderModel m) {
+            return scale == m.scale();
+        }
+    }
+
+    /**
+     * 预先绘制好的 Toast 提示框（不透明度 100%），按提示文字和缩放缓存；淡出时用 AlphaComposite 合成
+     * 不可变，绘制线程和 EDT（计算重绘区域）都可以读取
+     * @param x 提示框在表盘中的位置
+     */
+    private record ToastImage(String message, float scale, BufferedImage image, int x, int y) {
+
+        boolean matches(RenderModel m) {
+            return message.equals(m.toastMessage()) && scale == m.scale();
+        }
+    }
+
+    // Toast 消失前的淡出时长（毫秒）
+    static final int TOAST_FADE_MILLIS = 300;
+    // 淡出用的合成规则按不透明度分级预先创建，每帧不分配对象
+    private static final int TOAST_FADE_STEPS = 32;
+    private static final AlphaComposite[] TOAST_FADE_COMPOSITES = new AlphaComposite[TOAST_FADE_STEPS + 1];
+    static {
+        for (int i = 0; i <= TOAST_FADE_STEPS; i++) {
+            TOAST_FADE_COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) i / TOAST_FADE_STEPS);
+        }
+    }
+
+    // 最近一次绘制的 Toast 提示框
+    private volatile ToastImage toastImage = null;
+
+    // 每帧复用的动态区域列表和指针包围盒
+    private final List<HighlightSetting> dynamicAreasScratch = new ArrayList<>(2);
+    private final Rectangle handBoundsScratch = new Rectangle();
+
+    public ClockRenderer(ClockConfig config) {
+        // 1. 应用颜色和缩放 (直接使用配置中的 Color 对象)
+        this.scale = config.scale;
+        this.clockColor = config.clockColor;
+        this.numberColor = config.numberColor;
+        this.hourHandColor = config.hourHandColor;
+        this.minuteHandColor = config.minuteHandColor;
+        this.secondHandColor = config.secondHandColor;
+        this.showLabels = config.showLabels;
+        this.gradientRings = config.gradientRings;
+
+        // 2. 应用高亮区域
+        this.highlightAreas = new ArrayList<>();
+        if (config.highlightAreas != null && !config.highlightAreas.isEmpty()) {
+            for (ClockConfig.SerializableHighlightSetting shs : config.highlightAreas) {
+                this.highlightAreas.add(new HighlightSetting(
+                        shs.startHour,
+                        shs.startMinute,
+                        shs.endHour,
+                        shs.endMinute,
+                        shs.highlightColor,
+                        shs.label != null ? shs.label : "",
+                        shs.labelColor != null ? shs.labelColor : Color.WHITE,
+                        shs.enter,
+                        shs.exit,
+                        shs.interval
+                ));
+            }
+        } else {
+            // 如果配置中没有高亮区域，使用初始默认值
+            this.highlightAreas.add(new HighlightSetting(9, 0, 12, 0, config.defaultHighlightColor, "", Color.WHITE));
+            this.highlightAreas.add(new HighlightSetting(13, 18, 18, 0, config.defaultHighlightColor, "", Color.WHITE));
+        }
+        this.highlightAreas = List.copyOf(highlightAreas);
+        this.schedule = HighlightSchedule.of(highlightAreas);
+        this.palette = compilePalette();
+        publish();
+    }
+
+    /**
+     * 用当前的写入方状态构建并发布新的渲染模型
+     */
+    private void publish() {
+        model = new RenderModel(scale, clockColor, numberColor, hourHandColor, minuteHandColor, secondHandColor,
+                showLabels, schedule, palette, hoveredSetting, toastMessage, toastEndTime, renderPolicy,
+                forcedDetailLevel, handRenderMode, geometryVersion, staticVersion);
+    }
+
+    private ThemePalette compilePalette() {
+        return ThemePalette.compile(numberColor, schedule, gradientRings);
+    }
+
+    /**
+     * 静态图层内容变化：分配新的版本号
+     */
+    private void bumpStaticVersion() {
+        staticVersion = ++staticVersionCounter;
+    }
+
+    /**
+     * 当前发布的渲染模型（主动渲染线程每帧读取一次，尺寸、策略和绘制使用同一个快照）
+     */
+    RenderModel getModel() { return model; }
+
+    /**
+     * 当前缩放下的表盘边长（取偶数，保证圆心落在整像素上）
+     */
+    public int getClockSize() { return model.clockSize(); }
+
+    public float getScale() { return model.scale(); }
+    public synchronized void setScale(float newScale) {
+        this.scale = Math.max(ScaleLayerCache.MIN_SCALE, Math.min(ScaleLayerCache.MAX_SCALE, newScale));
+        publish();
+    }
+
+    /**
+     * 当前高亮区域的只读列表；增删区域时构建新列表传给 setHighlightAreas，修改区域颜色、标签后调用 refreshHighlightStyles
+     */
+    public synchronized List<HighlightSetting> getHighlightAreas() { return highlightAreas; }
+    public synchronized void setHighlightAreas(List<HighlightSetting> highlightAreas) {
+        // 拷贝成只读列表：调用方之后修改自己的列表不影响后台线程正在读取的区域
+        this.highlightAreas = List.copyOf(highlightAreas);
+        schedule = HighlightSchedule.of(highlightAreas);
+        palette = compilePalette();
+        geometryVersion++;
+        bumpStaticVersion();
+        publish();
+    }
+
+    /**
+     * 高亮区域的颜色、标签被直接修改（如切换主题）后重新拷贝到索引，时间范围不变时不清空几何缓存
+     */
+    public synchronized void refreshHighlightStyles() {
+        schedule = HighlightSchedule.of(highlightAreas);
+        palette = compilePalette();
+        bumpStaticVersion();
+        publish();
+    }
+
+    /**
+     * 当前高亮区域的索引，供命中测试和触发监控共享
+     */
+    HighlightSchedule getSchedule() { return model.schedule(); }
+
+    public Color getClockColor() { return model.clockColor(); }
+    public synchronized void setClockColor(Color clockColor) { this.clockColor = clockColor; bumpStaticVersion(); publish(); }
+    public Color getNumberColor() { return model.numberColor(); }
+    public synchronized void setNumberColor(Color numberColor) { this.numberColor = numberColor; palette = compilePalette(); bumpStaticVersion(); publish(); }
+    public Color getHourHandColor() { return model.hourHandColor(); }
+    public synchronized void setHourHandColor(Color hourHandColor) { this.hourHandColor = hourHandColor; publish(); }
+    public Color getMinuteHandColor() { return model.minuteHandColor(); }
+    public synchronized void setMinuteHandColor(Color minuteHandColor) { this.minuteHandColor = minuteHandColor; publish(); }
+    public Color getSecondHandColor() { return model.secondHandColor(); }
+    public synchronized void setSecondHandColor(Color secondHandColor) { this.secondHandColor = secondHandColor; publish(); }
+
+    public boolean isShowLabels() { return model.showLabels(); }
+    public synchronized void setShowLabels(boolean showLabels) { this.showLabels = showLabels; bumpStaticVersion(); publish(); }
+
+    public boolean isGradientRings() { return model.palette().gradientRings; }
+
+    /**
+     * 切换主题：在后台线程重建区域索引、编译调色板并预渲染当前缩放的静态图层，完成后一次性换上新的渲染模型
+     * 切换期间继续按旧主题绘制；换上后绘制线程直接命中预渲染的图层，其他缩放档位随后在后台预渲染
+     * 调用前应已把主题的标签颜色写入各高亮区域（区域的颜色在重建索引时拷贝，此前不影响已发布的快照）
+     * @return 新主题生效后完成（在后台线程）
+     */
+    public CompletableFuture<Void> applyTheme(Theme theme) {
+        RenderModel base;
+        List<HighlightSetting> areas;
+        int baseVersion;
+        int reservedVersion;
+        synchronized (this) {
+            base = model;
+            // 在锁内取只读快照交给后台线程（字段本身已是只读列表，拷贝不产生新对象，仍可按引用判断区域是否变化）
+            areas = List.copyOf(highlightAreas);
+            baseVersion = staticVersion;
+            reservedVersion = ++staticVersionCounter;
+        }
+        GraphicsConfiguration gc = lastGc;
+        double deviceScale = lastDeviceScale;
+        return CompletableFuture.supplyAsync(() -> {
+            HighlightSchedule themedSchedule = HighlightSchedule.of(areas);
+            ThemePalette themedPalette = ThemePalette.compile(theme.numberColor(), themedSchedule,
+                    theme.gradientRings());
+            RenderModel themed = base.withTheme(theme, themedSchedule, themedPalette, reservedVersion);
+
+            // 预渲染当前缩放、当前时间和悬停状态下的静态图层（只使用自己创建的资源和几何缓存）
+            DetailLevel detail = resolveDetailLevel(themed, themed.scale(), deviceScale);
+            LocalTime now = LocalTime.now();
+            List<HighlightSetting> dynamicAreas = List.copyOf(collectDynamicAreas(themed,
+                    now.getHour() * 60 + now.getMinute(), new ArrayList<>(2)));
+            LayerContext ctx = new LayerContext(themed, new RenderResources(themed), detail,
+                    new IdentityHashMap<>(), gc);
+            layerCache.put(new ScaleLayerCache.Key(reservedVersion, themed.scale(), detail, dynamicAreas, gc),
+                    renderStaticLayer(ctx, dynamicAreas));
+            if (themed.handRenderMode() == HandRenderMode.SPRITE) {
+                float scale = themed.scale();
+                boolean shadows = detail.handShadows;
+                prebuiltSprites = new PrebuiltSprites(scale,
+                        HandSprite.create((int) (45 * scale), (int) (5 * scale), themed.hourHandColor(), scale, shadows),
+                        HandSprite.create((int) (65 * scale), (int) (3 * scale), themed.minuteHandColor(), scale, shadows),
+                        HandSprite.create((int) (75 * scale), (int) (1.5f * scale), themed.secondHandColor(), scale,
+                                shadows));
+            }
+            return themed;
+        }, ScaleLayerCache.executor()).thenAccept(themed -> {
+            synchronized (this) {
+                clockColor = theme.clockColor();
+                numberColor = theme.numberColor();
+                hourHandColor = theme.hourHandColor();
+                minuteHandColor = theme.minuteHandColor();
+                secondHandColor = theme.secondHandColor();
+                gradientRings = theme.gradientRings();
+                boolean unchanged = highlightAreas == areas && staticVersion == baseVersion;
+                if (unchanged) {
+                    // 期间没有其他静态内容修改：直接换上后台构建的索引和调色板，预渲染的图层立即命中
+                    schedule = themed.schedule();
+                    palette = themed.palette();
+                    staticVersion = reservedVersion;
+                } else {
+                    // 期间区域或其他静态内容已修改：按最新状态重建，预渲染的图层作废
+                    schedule = HighlightSchedule.of(highlightAreas);
+                    palette = compilePalette();
+                    bumpStaticVersion();
+                }
+                publish();
+            }
+            prerenderRequested = true;
+        });
+    }
+
+    public HighlightSetting getHoveredSetting() { return model.hoveredSetting(); }
+    public synchronized void setHoveredSetting(HighlightSetting hoveredSetting) {
+        this.hoveredSetting = hoveredSetting;
+        publish();
+    }
+
+    public RenderScheduler.RenderPolicy getRenderPolicy() { return model.renderPolicy(); }
+    public synchronized void setRenderPolicy(RenderScheduler.RenderPolicy renderPolicy) {
+        this.renderPolicy = renderPolicy;
+        publish();
+    }
+
+    /**
+     * 最近一帧实际使用的细节层级，还没有绘制过时返回 null
+     */
+    public DetailLevel getDetailLevel() { return detailLevel; }
+
+    public DetailLevel getForcedDetailLevel() { return model.forcedDetailLevel(); }
+
+    /**
+     * 强制使用指定的细节层级（基准测试、画质对比），传 null 恢复按像素尺寸自动选择
+     */
+    public synchronized void setForcedDetailLevel(DetailLevel level) {
+        this.forcedDetailLevel = level;
+        publish();
+    }
+
+    public HandRenderMode getHandRenderMode() { return model.handRenderMode(); }
+
+    /**
+     * 指针层绘制方式（默认 STROKE；SPRITE 的模糊阴影和 RASTER 需显式开启）
+     */
+    public synchronized void setHandRenderMode(HandRenderMode handRenderMode) {
+        this.handRenderMode = handRenderMode;
+        publish();
+    }
+
+    /**
+     * 请求在后台预渲染所有滚轮缩放档位的静态图层（下一帧绘制后按当时的快照提交，已缓存的档位跳过）
+     */
+    public void requestPrerender() {
+        prerenderRequested = true;
+    }
+
+    /**
+     * 静态图层缓存的命中率和内存占用
+     */
+    ScaleLayerCache.Stats getLayerCacheStats() {
+        return layerCache.stats();
+    }
+
+    /**
+     * 设置静态图层缓存的内存上限（字节），传 0 关闭缓存
+     */
+    public void setLayerCacheCapacity(long bytes) {
+        layerCache.setCapacityBytes(bytes);
+    }
+
+    /**
+     * 强制下一帧重建静态表盘图层
+     */
+    public synchronized void invalidateStaticLayer() {
+        bumpStaticVersion();
+        publish();
+    }
+
+    /**
+     * 显示 Toast 提示，直到指定时刻（System.currentTimeMillis）
+     */
+    public synchronized void showToast(String message, long endTime) {
+        this.toastMessage = message;
+        this.toastEndTime = endTime;
+        publish();
+    }
+
+    public boolean isToastActive() {
+        return model.isToastActive(System.currentTimeMillis());
+    }
+
+    /**
+     * 最近一次 Toast 提示框在表盘中的区域（包括已经消失的提示），从未显示过时返回 null
+     */
+    public Rectangle getToastBounds() {
+        RenderModel m = model;
+        if (m.toastMessage() == null) {
+            return null;
+        }
+        ToastImage toast = toastImage(m);
+        return new Rectangle(toast.x(), toast.y(), toast.image().getWidth(), toast.image().getHeight());
+    }
+
+    /**
+     * 取快照对应的提示框图像，提示文字或缩放变化时重新绘制
+     */
+    private ToastImage toastImage(RenderModel m) {
+        ToastImage toast = toastImage;
+        if (toast == null || !toast.matches(m)) {
+            toast = createToastImage(m);
+            toastImage = toast;
+        }
+        return toast;
+    }
+
+    private static ToastImage createToastImage(RenderModel m) {
+        String message = m.toastMessage();
+        float scale = m.scale();
+        Font font = new Font("Microsoft YaHei", Font.BOLD, (int) (12 * scale));
+        Graphics2D metricsGraphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        FontMetrics fm = metricsGraphics.getFontMetrics(font);
+        metricsGraphics.dispose();
+
+        int padding = (int) (8 * scale);
+        int boxWidth = fm.stringWidth(message) + padding * 2;
+        int boxHeight = fm.getHeight() + padding;
+        int center = m.clockSize() / 2;
+        int boxX = center - boxWidth / 2;
+        int boxY = center + (int) (30 * scale);
+
+        BufferedImage image = new BufferedImage(boxWidth, boxHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // 背景
+            g.setColor(TOAST_BACKGROUND_COLOR);
+            g.fillRoundRect(0, 0, boxWidth, boxHeight, 10, 10);
+            // 文字
+            g.setFont(font);
+            g.setColor(Color.WHITE);
+            g.drawString(message, padding, fm.getAscent() + padding / 2);
+        } finally {
+            g.dispose();
+        }
+        return new ToastImage(message, scale, image, boxX, boxY);
+    }
+
+    /**
+     * 将面板上的坐标转换为表盘上的 12 小时制总分钟数（0-719，0 表示 12 点）
+     * 半径带判断比较距离平方，不开方
+     * @return 分钟数，点击在太边缘或中心点时返回 -1
+     */
+    public int getMinute12At(int x, int y) {
+        return minute12At(model, x, y);
+    }
+
+    private static int minute12At(RenderModel m, int x, int y) {
+        int radius = (int) (BASE_CLOCK_SIZE * m.scale()) / 2;
+        int dx = x - radius;
+        int dy = radius - y; // Y坐标取反，因为AWT的Y轴向下为正
+
+        // 使用半径 * 0.95 忽略边缘，半径 * 0.1 忽略中心点
+        double outerRadius = radius * 0.95;
+        double innerRadius = radius * 0.1;
+        double distanceSq = (double) dx * dx + (double) dy * dy;
+        if (distanceSq > outerRadius * outerRadius || distanceSq < innerRadius * innerRadius) {
+            return -1;
+        }
+
+        // 从12点钟位置开始顺时针的角度，按每度 2 分钟换算
+        double minutes = Math.atan2(dx, dy) * (360 / Math.PI);
+        if (minutes < 0) {
+            minutes += 720;
+        }
+        return (int) Math.round(minutes) % 720;
+    }
+
+    /**
+     * 查找鼠标位置上的高亮区域（悬停检测，每次鼠标移动都会调用：一次查表，不分配对象）
+     * @return 匹配的高亮区域，没有匹配或不在表盘范围内返回 null
+     */
+    public HighlightSetting findHighlightSettingAt(int x, int y) {
+        RenderModel m = model;
+        int minute12 = minute12At(m, x, y);
+        if (minute12 < 0) {
+            return null;
+        }
+        HighlightSchedule.Entry entry = m.schedule().findAt12(minute12);
+        return entry != null ? entry.setting() : null;
+    }
+
+    /**
+     * 为鼠标位置创建用于新建的临时区域（从所在整点开始，持续一小时），只在确实要新建时调用
+     * @return 临时区域，不在表盘范围内返回 null
+     */
+    public HighlightSetting createNewAreaAt(int x, int y, Color highlightColor) {
+        int minute12 = getMinute12At(x, y);
+        if (minute12 < 0) {
+            return null;
+        }
+        int clickHour = minute12 / 60;
+        int endH = (clickHour + 1) % 12;
+        return new HighlightSetting(
+                clickHour, 0,
+                endH, 0,
+                highlightColor, "", Color.WHITE);
+    }
+
+    /**
+     * 离屏渲染指定时刻的表盘到新的透明图像
+     */
+    public BufferedImage renderImage(LocalTime time) {
+        RenderModel m = model;
+        int size = m.clockSize();
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            paint(g2d, time, m);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * 在 (0, 0) 处绘制指定时刻的表盘，边长为 getClockSize()
+     */
+    public void paint(Graphics2D g2d, LocalTime now) {
+        paint(g2d, now, model);
+    }
+
+    /**
+     * 按指定的渲染模型快照绘制，一帧内的所有读取都来自这一个快照
+     */
+    void paint(Graphics2D g2d, LocalTime now, RenderModel m) {
+        prepareCaches(g2d, m);
+        LayerContext ctx = layerContext;
+        float scale = m.scale();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+        int currentSize = m.clockSize();
+        int centerX = currentSize / 2;
+        int centerY = currentSize / 2;
+        int radius = currentSize / 2;
+
+        // 计算当前时间（24小时制，用于判断是否在高亮区域内）
+        int currentHour24 = now.getHour();
+        int currentMinute = now.getMinute();
+
+        int ringWidth = (int)(10 * scale);
+        int ringMargin = (int)(30 * scale);  // 增大边距，让圆环和数字之间有呼吸感
+        int ringRadius = radius - ringMargin - ringWidth / 2;
+
+        // 1~5. 静态图层：表盘背景、底轨、非活跃高亮圆环、刻度、数字
+        List<HighlightSetting> dynamicAreas = collectDynamicAreas(m, currentHour24 * 60 + currentMinute);
+        if (staticLayerKey == null || !staticLayerKey.matches(m.staticVersion(), scale, ctx.detail(),
+                dynamicAreas, ctx.gc())) {
+            updateStaticLayer(ctx, dynamicAreas);
+        }
+        g2d.drawImage(staticLayer, 0, 0, null);
+
+        // 当前时间所在区域（发光）和悬停区域（加宽）每帧单独绘制
+        if (!dynamicAreas.isEmpty()) {
+            drawHighlightRings(g2d, ctx, centerX, centerY, ringRadius, ringWidth,
+                    currentHour24, currentMinute, dynamicAreas, true);
+        }
+
+        // 6~7. 绘制指针（带阴影）和中心点（带高光）
+        drawHandLayer(g2d, m, now, centerX, centerY);
+        
+        // 8. 绘制 Toast 提示（过期的提示不再绘制，快照本身不修改）
+        long nowMillis = System.currentTimeMillis();
+        if (m.isToastActive(nowMillis)) {
+            ToastImage toast = toastImage(m);
+            long remaining = m.toastEndTime() - nowMillis;
+            if (remaining < TOAST_FADE_MILLIS) {
+                // 淡出：按剩余时间整体降低提示框的不透明度
+                Composite composite = g2d.getComposite();
+                g2d.setComposite(TOAST_FADE_COMPOSITES[(int) (TOAST_FADE_STEPS * remaining / TOAST_FADE_MILLIS)]);
+                g2d.drawImage(toast.image(), toast.x(), toast.y(), null);
+                g2d.setComposite(composite);
+            } else {
+                g2d.drawImage(toast.image(), toast.x(), toast.y(), null);
+            }
+        }
+
+        if (prerenderRequested) {
+            prerenderRequested = false;
+            prerenderScales(g2d, m, dynamicAreas);
+        }
+    }
+
+    /**
+     * 按快照准备绘制线程的缓存：切换到该缩放的绘制状态，数字颜色变化时重建绘制资源，
+     * 几何版本变化时清空所有缩放的状态，细节层级变化时清空该缩放的圆环缓存
+     */
+    private void prepareCaches(Graphics2D g2d, RenderModel m) {
+        GraphicsConfiguration gc = g2d.getDeviceConfiguration();
+        lastGc = gc;
+        lastDeviceScale = deviceScale(g2d);
+        if (scaleStatesVersion != m.geometryVersion()) {
+            scaleStates.clear();
+            scaleState = null;
+            scaleStatesVersion = m.geometryVersion();
+        }
+        ScaleState state = scaleState;
+        if (state == null || state.scale != m.scale()) {
+            state = scaleStates.get(m.scale());
+            if (state == null) {
+                if (scaleStates.size() >= MAX_SCALE_STATES) {
+                    scaleStates.clear();
+                }
+                state = new ScaleState(m.scale());
+                scaleStates.put(m.scale(), state);
+            }
+            scaleState = state;
+        }
+        if (state.resources == null || !state.resources.matches(m)) {
+            state.resources = new RenderResources(m);
+        }
+        DetailLevel level = resolveDetailLevel(m, m.scale(), deviceScale(g2d));
+        if (state.detail != level) {
+            state.ringCache.clear();
+            state.detail = level;
+        }
+        detailLevel = level;
+        LayerContext ctx = layerContext;
+        if (ctx == null || ctx.model() != m || ctx.resources() != state.resources || ctx.detail() != level
+                || ctx.ringCache() != state.ringCache || ctx.gc() != gc) {
+            layerContext = new LayerContext(m, state.resources, level, state.ringCache, gc);
+        }
+    }
+
+    /**
+     * 按表盘在设备上的实际像素尺寸（逻辑尺寸乘以 HiDPI 缩放）选择细节层级，强制层级优先
+     */
+    private static DetailLevel resolveDetailLevel(RenderModel m, float scale, double deviceScale) {
+        if (m.forcedDetailLevel() != null) {
+            return m.forcedDetailLevel();
+        }
+        int size = (int) (BASE_CLOCK_SIZE * scale);
+        return DetailLevel.forPixelSize((size - size % 2) * deviceScale);
+    }
+
+    private static double deviceScale(Graphics2D g2d) {
+        java.awt.geom.AffineTransform transform = g2d.getTransform();
+        return Math.max(Math.abs(transform.getScaleX()), Math.abs(transform.getScaleY()));
+    }
+
+    /**
+     * 换上与当前键对应的静态图层：先查图层缓存，没有时在绘制线程上立即绘制并放入缓存
+     */
+    private void updateStaticLayer(LayerContext ctx, List<HighlightSetting> dynamicAreas) {
+        RenderModel m = ctx.model();
+        ScaleLayerCache.Key key = new ScaleLayerCache.Key(m.staticVersion(), m.scale(), ctx.detail(),
+                List.copyOf(dynamicAreas), ctx.gc());
+        BufferedImage layer = layerCache.get(key);
+        if (layer == null) {
+            layer = renderStaticLayer(ctx, dynamicAreas);
+            layerCache.put(key, layer);
+        }
+        staticLayer = layer;
+        staticLayerKey = key;
+    }
+
+    /**
+     * 在后台线程池中预渲染其余缩放档位的静态图层（内容与当前帧一致，只有缩放不同）
+     */
+    private void prerenderScales(Graphics2D g2d, RenderModel m, List<HighlightSetting> dynamicAreas) {
+        double deviceScale = deviceScale(g2d);
+        GraphicsConfiguration gc = g2d.getDeviceConfiguration();
+        List<HighlightSetting> areas = List.copyOf(dynamicAreas);
+        List<ScaleLayerCache.Key> keys = new ArrayList<>(ScaleLayerCache.SCALE_STEPS);
+        for (int step = 0; step < ScaleLayerCache.SCALE_STEPS; step++) {
+            float bucketScale = ScaleLayerCache.bucketScale(step);
+            keys.add(new ScaleLayerCache.Key(m.staticVersion(), bucketScale,
+                    resolveDetailLevel(m, bucketScale, deviceScale), areas, gc));
+        }
+        layerCache.prerender(keys, key -> {
+            // 预渲染线程只使用自己创建的资源和几何缓存，不访问绘制线程的状态
+            RenderModel scaled = m.withScale(key.scale());
+            LayerContext ctx = new LayerContext(scaled, new RenderResources(scaled), key.detail(),
+                    new IdentityHashMap<>(), key.gc());
+            return renderStaticLayer(ctx, key.dynamicAreas());
+        });
+    }
+
+    /**
+     * 只绘制指针层：三根指针和中心点（基准测试用：对比描边、贴图、软件光栅化三种方式的开销）
+     */
+    void paintHands(Graphics2D g2d, LocalTime now) {
+        RenderModel m = model;
+        prepareCaches(g2d, m);
+        int center = m.clockSize() / 2;
+        drawHandLayer(g2d, m, now, center, center);
+    }
+
+    /**
+     * 按快照的绘制方式绘制指针层
+     */
+    private void drawHandLayer(Graphics2D g2d, RenderModel m, LocalTime now, int centerX, int centerY) {
+        if (m.handRenderMode() == HandRenderMode.RASTER) {
+            rasterizeHandLayer(g2d, m, now, centerX, centerY);
+            return;
+        }
+        drawHands(g2d, m, now, centerX, centerY);
+
+        float scale = m.scale();
+        int centerDotSize = (int)(12 * scale);
+        // 外圈阴影
+        g2d.setColor(CENTER_DOT_SHADOW_COLOR);
+        g2d.fillOval(centerX - centerDotSize / 2 + 1, centerY - centerDotSize / 2 + 1, centerDotSize, centerDotSize);
+        // 主体
+        g2d.setColor(CENTER_DOT_COLOR);
+        g2d.fillOval(centerX - centerDotSize / 2, centerY - centerDotSize / 2, centerDotSize, centerDotSize);
+        // 高光
+        int highlightSize = (int)(4 * scale);
+        g2d.setColor(CENTER_DOT_HIGHLIGHT_COLOR);
+        g2d.fillOval(centerX - highlightSize / 2 - 1, centerY - highlightSize / 2 - 1, highlightSize, highlightSize);
+    }
+
+    /**
+     * RASTER 方式：指针和中心点的几何、颜色、绘制顺序与描边方式相同，光栅化到像素缓冲后只贴一次图
+     */
+    private void rasterizeHandLayer(Graphics2D g2d, RenderModel m, LocalTime now, int centerX, int centerY) {
+        float scale = m.scale();
+        int minute = now.getMinute();
+        double preciseSecond = preciseSecond(m.renderPolicy(), now);
+        boolean shadows = layerContext.detail().handShadows;
+        HandRasterizer raster = handRasterizer;
+        // 平滑走动时描边方式使用 STROKE_NORMALIZE，这里按同样的坐标调整光栅化
+        raster.begin(m.clockSize(), deviceScale(g2d), m.renderPolicy() == RenderScheduler.RenderPolicy.SMOOTH);
+
+        rasterizeHand(raster, hourHandAngle(now.getHour() % 12, minute), (int) (45 * scale), (int) (5 * scale),
+                m.hourHandColor(), centerX, centerY, shadows);
+        rasterizeHand(raster, minuteHandAngle(minute, preciseSecond), (int) (65 * scale), (int) (3 * scale),
+                m.minuteHandColor(), centerX, centerY, shadows);
+        if (m.renderPolicy() != RenderScheduler.RenderPolicy.MINUTE) {
+            rasterizeHand(raster, secondHandAngle(preciseSecond), (int) (75 * scale), (int) (1.5f * scale),
+                    m.secondHandColor(), centerX, centerY, shadows);
+        }
+
+        int centerDotSize = (int) (12 * scale);
+        raster.fillDisc(centerX - centerDotSize / 2 + 1, centerY - centerDotSize / 2 + 1, centerDotSize,
+                CENTER_DOT_SHADOW_COLOR);
+        raster.fillDisc(centerX - centerDotSize / 2, centerY - centerDotSize / 2, centerDotSize, CENTER_DOT_COLOR);
+        int highlightSize = (int) (4 * scale);
+        raster.fillDisc(centerX - highlightSize / 2 - 1, centerY - highlightSize / 2 - 1, highlightSize,
+                CENTER_DOT_HIGHLIGHT_COLOR);
+
+        raster.drawTo(g2d);
+    }
+
+    private static void rasterizeHand(HandRasterizer raster, double angle, int length, int thickness, Color color,
+                                      int centerX, int centerY, boolean shadow) {
+        int x = (int) (centerX + length * Math.cos(angle));
+        int y = (int) (centerY + length * Math.sin(angle));
+        if (shadow) {
+            raster.drawLine(centerX + 2, centerY + 2, x + 2, y + 2, thickness + 2, HAND_SHADOW_COLOR);
+        }
+        raster.drawLine(centerX, centerY, x, y, thickness, color);
+    }
+
+    /**
+     * 用 Graphics2D 绘制三根指针：SPRITE 旋转贴图预渲染的指针贴图（模糊阴影），STROKE 每帧描边（硬阴影）
+     * 低细节层级下不画阴影，MINUTE 策略下不画秒针
+     */
+    private void drawHands(Graphics2D g2d, RenderModel m, LocalTime now, int centerX, int centerY) {
+        // 渲染提示只在绘制指针期间生效，结束时恢复（调用方的 Graphics2D 之后还会绘制 Toast 等内容）
+        Object rendering = g2d.getRenderingHint(RenderingHints.KEY_RENDERING);
+        Object strokeControl = g2d.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+        Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        try {
+            // 平滑走动时每秒 60 帧，改用较快的渲染提示（保留抗锯齿）
+            if (m.renderPolicy() == RenderScheduler.RenderPolicy.SMOOTH) {
+                g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+                g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+            }
+            float scale = m.scale();
+            int minute = now.getMinute();
+            // 计算精确的秒数（包含毫秒部分），用于平滑秒针
+            double preciseSecond = preciseSecond(m.renderPolicy(), now);
+            double hourAngle = hourHandAngle(now.getHour() % 12, minute);
+            double minuteAngle = minuteHandAngle(minute, preciseSecond);
+            boolean drawSecond = m.renderPolicy() != RenderScheduler.RenderPolicy.MINUTE;
+            boolean shadows = layerContext.detail().handShadows;
+
+            if (m.handRenderMode() == HandRenderMode.SPRITE) {
+                ScaleState state = scaleState;
+                PrebuiltSprites prebuilt = prebuiltSprites;
+                if (prebuilt != null && prebuilt.scale() != scale) {
+                    prebuilt = null;
+                }
+                state.hourSprite = handSprite(state.hourSprite, prebuilt != null ? prebuilt.hour() : null,
+                        (int) (45 * scale), (int) (5 * scale), m.hourHandColor(), scale, shadows);
+                state.minuteSprite = handSprite(state.minuteSprite, prebuilt != null ? prebuilt.minute() : null,
+                        (int) (65 * scale), (int) (3 * scale), m.minuteHandColor(), scale, shadows);
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                state.hourSprite.draw(g2d, hourAngle, centerX, centerY);
+                state.minuteSprite.draw(g2d, minuteAngle, centerX, centerY);
+                if (drawSecond) {
+                    state.secondSprite = handSprite(state.secondSprite, prebuilt != null ? prebuilt.second() : null,
+                            (int) (75 * scale), (int) (1.5f * scale), m.secondHandColor(), scale, shadows);
+                    state.secondSprite.draw(g2d, secondHandAngle(preciseSecond), centerX, centerY);
+                }
+            } else {
+                RenderResources resources = layerContext.resources();
+                drawHandWithShadow(g2d, hourAngle, (int) (45 * scale), resources.hourHandStrokes, m.hourHandColor(),
+                        centerX, centerY, shadows);
+                drawHandWithShadow(g2d, minuteAngle, (int) (65 * scale), resources.minuteHandStrokes, m.minuteHandColor(),
+                        centerX, centerY, shadows);
+                if (drawSecond) {
+                    drawHandWithShadow(g2d, secondHandAngle(preciseSecond), (int) (75 * scale),
+                            resources.secondHandStrokes, m.secondHandColor(), centerX, centerY, shadows);
+                }
+            }
+        } finally {
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, rendering);
+            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, strokeControl);
+            // 插值提示默认未设置（取到 null，不能原样写回），未设置时按最近邻插值处理
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation != null
+                    ? interpolation : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        }
+    }
+
+    /**
+     * 当前贴图与颜色、阴影开关一致时沿用，否则优先取后台预先生成的贴图，都不合适时当场生成
+     */
+    private static HandSprite handSprite(HandSprite current, HandSprite prebuilt, int length, int thickness,
+                                         Color color, float scale, boolean shadow) {
+        if (current != null && current.matches(color, shadow)) {
+            return current;
+        }
+        return prebuilt != null && prebuilt.matches(color, shadow)
+                ? prebuilt : HandSprite.create(length, thickness, color, scale, shadow);
+    }
+
+    /**
+     * 不经过静态图层，直接绘制全部高亮圆环（基准测试用：测量圆环本身的绘制开销）
+     */
+    void paintHighlightRings(Graphics2D g2d, LocalTime now) {
+        RenderModel m = model;
+        prepareCaches(g2d, m);
+        LayerContext ctx = layerContext;
+        int currentSize = m.clockSize();
+        int centerX = currentSize / 2;
+        int centerY = currentSize / 2;
+        int radius = currentSize / 2;
+        int ringWidth = (int)(10 * m.scale());
+        int ringMargin = (int)(30 * m.scale());
+        int ringRadius = radius - ringMargin - ringWidth / 2;
+
+        List<HighlightSetting> dynamicAreas = collectDynamicAreas(m, now.getHour() * 60 + now.getMinute());
+        drawHighlightRings(g2d, ctx, centerX, centerY, ringRadius, ringWidth,
+                -1, -1, dynamicAreas, false);
+        drawHighlightRings(g2d, ctx, centerX, centerY, ringRadius, ringWidth,
+                now.getHour(), now.getMinute(), dynamicAreas, true);
+    }
+
+    /**
+     * 找出需要每帧动态绘制的高亮区域：当前时间所在区域和鼠标悬停区域
+     */
+    private List<HighlightSetting> collectDynamicAreas(RenderModel m, int currentTotalMinutes) {
+        return collectDynamicAreas(m, currentTotalMinutes, dynamicAreasScratch);
+    }
+
+    private static List<HighlightSetting> collectDynamicAreas(RenderModel m, int currentTotalMinutes,
+                                                              List<HighlightSetting> dynamicAreas) {
+        dynamicAreas.clear();
+        HighlightSchedule schedule = m.schedule();
+        for (int i = 0; i < schedule.size(); i++) {
+            HighlightSchedule.Entry entry = schedule.get(i);
+            if (entry.setting() == m.hoveredSetting() || entry.contains(currentTotalMinutes)) {
+                dynamicAreas.add(entry.setting());
+            }
+        }
+        return dynamicAreas;
+    }
+
+    /**
+     * 绘制新的静态表盘图层（兼容图像，与屏幕像素格式一致，drawImage 时无需转换）
+     * 只读取上下文，可在预渲染线程上调用；返回的图像之后不再修改
+     */
+    private static BufferedImage renderStaticLayer(LayerContext ctx, List<HighlightSetting> dynamicAreas) {
+        RenderModel m = ctx.model();
+        RenderResources resources = ctx.resources();
+        int currentSize = m.clockSize();
+        int centerX = currentSize / 2;
+        int centerY = currentSize / 2;
+        int ringWidth = (int) (10 * m.scale());
+        int ringMargin = (int) (30 * m.scale());
+        int ringRadius = currentSize / 2 - ringMargin - ringWidth / 2;
+
+        BufferedImage layer = createLayerImage(ctx.gc(), currentSize, currentSize);
+        Graphics2D lg = layer.createGraphics();
+        try {
+            lg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            lg.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            lg.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+            // 1. 绘制表盘背景（深色简洁背景）
+            lg.setColor(m.clockColor());
+            lg.fillOval(0, 0, currentSize, currentSize);
+
+            // 2. 绘制圆环轨道背景（灰色底轨）- 底轨用圆头
+            lg.setColor(RING_TRACK_COLOR);
+            lg.setStroke(resources.ringTrackStroke);
+            lg.drawOval(centerX - ringRadius, centerY - ringRadius, ringRadius * 2, ringRadius * 2);
+
+            // 3. 绘制非活跃、非悬停的高亮圆环
+            drawHighlightRings(lg, ctx, centerX, centerY, ringRadius, ringWidth,
+                    -1, -1, dynamicAreas, false);
+
+            // 4. 绘制精细刻度
+            DialLayout dialLayout = resources.dialLayout;
+            ThemePalette palette = m.palette();
+            dialLayout.drawMinuteMarks(lg, palette.hourMarkColor, resources.hourMarkStroke,
+                    palette.minuteMarkColor, resources.minuteMarkStroke, ctx.detail().minorMarks);
+
+            // 5. 绘制数字
+            dialLayout.drawNumbers(lg, palette.numberColorSoft);
+        } finally {
+            lg.dispose();
+        }
+        return layer;
+    }
+
+    /**
+     * 绘制高亮圆环（Apple Watch 风格）
+     * - 检测相邻时间段，中间用平头连接，两端用圆头
+     * - 文字沿弧线切线方向排列
+     * @param dynamicAreas 每帧动态绘制的区域
+     * @param dynamicPass true 只绘制 dynamicAreas 中的区域，false 只绘制其余区域（静态图层）
+     */
+    private static void drawHighlightRings(Graphics2D g2d, LayerContext ctx, int centerX, int centerY,
+                                           int ringRadius, int ringWidth, int currentHour24, int currentMinute,
+                                           List<HighlightSetting> dynamicAreas, boolean dynamicPass) {
+        RenderModel m = ctx.model();
+        RenderResources resources = ctx.resources();
+        Map<HighlightSetting, RingCacheEntry> ringCache = ctx.ringCache();
+        
+        // 按开始时间排序的区域索引（相邻关系、角度、颜色和标签已预先计算）
+        HighlightSchedule schedule = m.schedule();
+        for (int idx = 0; idx < schedule.size(); idx++) {
+            HighlightSchedule.Entry entry = schedule.sorted(idx);
+            HighlightSetting setting = entry.setting();
+            if (dynamicAreas.contains(setting) != dynamicPass) {
+                continue;
+            }
+
+            float sweepStartAngle = entry.sweepStartAngle();
+            float sweepAngle = entry.sweepAngle();
+
+            // 判断当前时间是否在此高亮区域内（静态图层中的区域均不在当前时间范围内）
+            boolean isCurrentTimeInRange = dynamicPass && entry.contains(currentHour24 * 60 + currentMinute);
+            boolean isHovered = (setting == m.hoveredSetting());
+
+            ThemePalette.RingColors colors = m.palette().ringColors(entry.highlightColor());
+
+            // 是否与前一个/后一个时间段相邻：相邻端用平头连接
+            boolean hasAdjacentBefore = entry.adjacentBefore();
+            boolean hasAdjacentAfter = entry.adjacentAfter();
+
+            // 悬停时放大圆环宽度
+            int actualRingWidth = isHovered ? (int)(ringWidth + 4 * m.scale()) : ringWidth;
+            
+            // 获取圆环形状（缓存命中时不做任何 Area 运算）
+            float halfWidth = actualRingWidth / 2.0f;
+            RingCacheEntry cacheEntry = ringCache.get(setting);
+            if (cacheEntry == null) {
+                cacheEntry = new RingCacheEntry();
+                ringCache.put(setting, cacheEntry);
+            }
+            int variant = RingCacheEntry.variant(isHovered, hasAdjacentBefore, hasAdjacentAfter);
+            Shape ringArea = cacheEntry.shapes[variant];
+            if (ringArea == null) {
+                ringArea = new java.awt.geom.Path2D.Float(createRingShape(centerX, centerY, ringRadius, halfWidth,
+                        sweepStartAngle, sweepAngle, hasAdjacentBefore, hasAdjacentAfter));
+                cacheEntry.shapes[variant] = ringArea;
+            }
+
+            // 标签轮廓随圆环缓存；低细节层级下超出所在弧长的标签为 null
+            Shape labelShape = m.showLabels() && !entry.label().isEmpty()
+                    ? labelShape(resources, ctx.detail(), cacheEntry, entry, centerX, centerY, ringRadius, sweepAngle)
+                    : null;
+
+            // 主体颜色（当前时间所在区域加亮）：纯色，或沿弧线的锥形渐变（渐变栅格按圆环和缩放缓存）
+            Paint fill = ringPaint(m, cacheEntry, entry, colors, isCurrentTimeInRange, centerX, centerY,
+                    ringRadius, ringWidth);
+
+            if (isCurrentTimeInRange) {
+                // 当前时间在范围内：发光、主体和标签预渲染成一张贴图，每帧只做一次图像合成
+                ActiveRingSprite sprite = cacheEntry.activeSprites[variant];
+                if (sprite == null || !sprite.matches(fill, labelShape, entry.labelColor())) {
+                    sprite = createActiveRingSprite(ctx, centerX, centerY, ringRadius, halfWidth,
+                            sweepStartAngle, sweepAngle, hasAdjacentBefore, hasAdjacentAfter, colors,
+                            ringArea, fill, labelShape, entry.labelColor());
+                    cacheEntry.activeSprites[variant] = sprite;
+                }
+                g2d.drawImage(sprite.image(), sprite.x(), sprite.y(), null);
+                continue;
+            }
+
+            // 一次性填充合并后的形状，避免重叠
+            g2d.setPaint(fill);
+            g2d.fill(ringArea);
+
+            // 绘制标签（沿弧线切线方向排列）
+            if (labelShape != null) {
+                g2d.setColor(entry.labelColor());
+                g2d.fill(labelShape);
+            }
+        }
+        
+        g2d.setStroke(DEFAULT_STROKE);
+    }
+
+    /**
+     * 圆环主体的填充：纯色，或缓存的锥形渐变（颜色变化时重建）
+     */
+    private static Paint ringPaint(RenderModel m, RingCacheEntry cacheEntry, HighlightSchedule.Entry entry,
+                                   ThemePalette.RingColors colors, boolean isCurrentTimeInRange,
+                                   int centerX, int centerY, int ringRadius, int ringWidth) {
+        Color fillColor = isCurrentTimeInRange ? colors.bright() : colors.base();
+        if (!m.palette().gradientRings) {
+            return fillColor;
+        }
+        Color endColor = isCurrentTimeInRange ? colors.brightGradientEnd() : colors.gradientEnd();
+        int slot = isCurrentTimeInRange ? 1 : 0;
+        ConicGradientPaint gradient = cacheEntry.gradients[slot];
+        if (gradient == null || !gradient.matches(fillColor, endColor)) {
+            int extent = ringRadius + (int) Math.ceil(ringWidth / 2.0f + 2 * m.scale()) + 2;
+            gradient = new ConicGradientPaint(centerX, centerY, entry.sweepStartAngle(), entry.sweepAngle(),
+                    fillColor, endColor,
+                    new Rectangle(centerX - extent, centerY - extent, extent * 2, extent * 2));
+            cacheEntry.gradients[slot] = gradient;
+        }
+        return gradient;
+    }
+
+    /**
+     * 区域标签的轮廓，文字变化时重新生成；低细节层级下超出所在弧长的标签不画（返回 null）
+     */
+    private static Shape labelShape(RenderResources resources, DetailLevel detail, RingCacheEntry cacheEntry,
+                                    HighlightSchedule.Entry entry, int centerX, int centerY, int ringRadius,
+                                    float sweepAngle) {
+        if (!entry.label().equals(cacheEntry.labelText)) {
+            cacheEntry.labelText = entry.label();
+            int labelRadius = (int) (ringRadius * 0.65);
+            boolean fits = !detail.labelsMustFit
+                    || resources.labelMetrics.stringWidth(entry.label())
+                            <= labelRadius * Math.toRadians(Math.min(sweepAngle, 360f));
+            cacheEntry.labelShape = fits ? DialLayout.createArcLabelShape(entry.label(),
+                    resources.labelFont, resources.labelMetrics,
+                    centerX, centerY, labelRadius, entry.labelAngle()) : null;
+        }
+        return cacheEntry.labelShape;
+    }
+
+    /**
+     * 预渲染当前时间所在区域的贴图：多层发光圆环（从外到内透明度递增，层数随细节层级减少，最内层浓度不变），
+     * 其上依次是圆环主体和标签，与逐项绘制的顺序相同
+     */
+    private static ActiveRingSprite createActiveRingSprite(LayerContext ctx, int centerX, int centerY, int ringRadius,
+                                                           float halfWidth, float sweepStartAngle, float sweepAngle,
+                                                           boolean hasAdjacentBefore, boolean hasAdjacentAfter,
+                                                           ThemePalette.RingColors colors, Shape ringArea,
+                                                           Paint fill, Shape labelShape, Color labelColor) {
+        int glowLayers = ctx.detail().glowLayers;
+        Color[] glowColors = colors.glowColors()[ctx.detail().ordinal()];
+        float maxGlowSize = 8 * ctx.model().scale();
+
+        // 最外层发光和标签决定贴图范围
+        java.awt.geom.Area outerGlow = createRingShape(centerX, centerY, ringRadius, halfWidth + maxGlowSize,
+                sweepStartAngle, sweepAngle, hasAdjacentBefore, hasAdjacentAfter);
+        Rectangle bounds = outerGlow.getBounds();
+        if (labelShape != null) {
+            bounds.add(labelShape.getBounds());
+        }
+        bounds.grow(1, 1);
+
+        BufferedImage image = createLayerImage(ctx.gc(), bounds.width, bounds.height);
+        Graphics2D sg = image.createGraphics();
+        try {
+            sg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            sg.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            sg.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            sg.translate(-bounds.x, -bounds.y);
+
+            for (int layer = glowLayers; layer >= 1; layer--) {
+                float layerGlowSize = maxGlowSize * layer / glowLayers;
+                java.awt.geom.Area glowArea = layer == glowLayers ? outerGlow
+                        : createRingShape(centerX, centerY, ringRadius, halfWidth + layerGlowSize,
+                                sweepStartAngle, sweepAngle, hasAdjacentBefore, hasAdjacentAfter);
+
+                // 透明度从外层到内层递增：外层最淡，内层较浓（调色板中预先计算）
+                sg.setColor(glowColors[layer]);
+                sg.fill(glowArea);
+            }
+
+            sg.setPaint(fill);
+            sg.fill(ringArea);
+            if (labelShape != null) {
+                sg.setColor(labelColor);
+                sg.fill(labelShape);
+            }
+        } finally {
+            sg.dispose();
+        }
+        return new ActiveRingSprite(image, bounds.x, bounds.y, fill, labelShape, labelColor);
+    }
+
+    /**
+     * 创建透明图层图像（优先使用与屏幕一致的兼容图像格式）
+     */
+    private static BufferedImage createLayerImage(GraphicsConfiguration gc, int width, int height) {
+        return gc != null
+                ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * 构建圆环弧段形状：外扇形减内扇形，独立端点加半圆帽子（圆心在弧线端点上，半径为线宽的一半）
+     */
+    private static java.awt.geom.Area createRingShape(int centerX, int centerY, int ringRadius, float halfWidth,
+                                               float sweepStartAngle, float sweepAngle,
+                                               boolean hasAdjacentBefore, boolean hasAdjacentAfter) {
+        float innerRadius = ringRadius - halfWidth;
+        float outerRadius = ringRadius + halfWidth;
+
+        // 创建主体弧形区域（使用扇形差集方式）
+        java.awt.geom.Arc2D outerArc = new java.awt.geom.Arc2D.Float(
+            centerX - outerRadius, centerY - outerRadius,
+            outerRadius * 2, outerRadius * 2,
+            sweepStartAngle, -sweepAngle,
+            java.awt.geom.Arc2D.PIE
+        );
+        java.awt.geom.Arc2D innerArc = new java.awt.geom.Arc2D.Float(
+            centerX - innerRadius, centerY - innerRadius,
+            innerRadius * 2, innerRadius * 2,
+            sweepStartAngle, -sweepAngle,
+            java.awt.geom.Arc2D.PIE
+        );
+
+        java.awt.geom.Area ringArea = new java.awt.geom.Area(outerArc);
+        ringArea.subtract(new java.awt.geom.Area(innerArc));
+
+        if (!hasAdjacentBefore) {
+            // 起始端的半圆帽子
+            double startRad = Math.toRadians(sweepStartAngle);
+            float capCenterX = (float)(centerX + ringRadius * Math.cos(startRad));
+            float capCenterY = (float)(centerY - ringRadius * Math.sin(startRad));
+            ringArea.add(new java.awt.geom.Area(new java.awt.geom.Ellipse2D.Float(
+                capCenterX - halfWidth, capCenterY - halfWidth, halfWidth * 2, halfWidth * 2)));
+        }
+
+        if (!hasAdjacentAfter) {
+            // 结束端的半圆帽子
+            double endRad = Math.toRadians(sweepStartAngle - sweepAngle);
+            float capCenterX = (float)(centerX + ringRadius * Math.cos(endRad));
+            float capCenterY = (float)(centerY - ringRadius * Math.sin(endRad));
+            ringArea.add(new java.awt.geom.Area(new java.awt.geom.Ellipse2D.Float(
+                capCenterX - halfWidth, capCenterY - halfWidth, halfWidth * 2, halfWidth * 2)));
+        }
+        return ringArea;
+    }
+
+    /**
+     * 秒针使用的秒数：平滑策略包含毫秒部分，其余策略停在整秒刻度
+     */
+    private static double preciseSecond(RenderScheduler.RenderPolicy renderPolicy, LocalTime time) {
+        if (renderPolicy == RenderScheduler.RenderPolicy.SMOOTH) {
+            return time.getSecond() + time.getNano() / 1_000_000_000.0;
+        }
+        return time.getSecond();
+    }
+
+    private double hourHandAngle(int hour, int minute) {
+        return Math.toRadians(hour * 30 + minute * 0.5 - 90);
+    }
+
+    private double minuteHandAngle(int minute, double preciseSecond) {
+        return Math.toRadians(minute * 6 + preciseSecond * 0.1 - 90);
+    }
+
+    private double secondHandAngle(double preciseSecond) {
+        return Math.toRadians(preciseSecond * 6 - 90);
+    }
+
+    /**
+     * 计算指定时刻三根指针（含阴影）和中心点的包围盒，与 paint 的几何保持一致
+     * 返回的矩形每次调用复用，需与 paint 在同一线程调用
+     */
+    public Rectangle getHandBounds(LocalTime time) {
+        RenderModel m = model;
+        float scale = m.scale();
+        int currentSize = m.clockSize();
+        int centerX = currentSize / 2;
+        int centerY = currentSize / 2;
+
+        int minute = time.getMinute();
+        double preciseSecond = preciseSecond(m.renderPolicy(), time);
+
+        // 中心点（含 1px 阴影偏移）
+        int centerDotSize = (int) (12 * scale);
+        Rectangle bounds = handBoundsScratch;
+        bounds.setBounds(centerX - centerDotSize / 2, centerY - centerDotSize / 2,
+                centerDotSize + 1, centerDotSize + 1);
+        // 贴图指针的阴影经过模糊，向外多扩散一个模糊半径（另加 1px 双线性插值）
+        int blurExtent = m.handRenderMode() == HandRenderMode.SPRITE ? HandSprite.blurRadius(scale) + 1 : 0;
+        addHandBounds(bounds, hourHandAngle(time.getHour() % 12, minute),
+                (int) (45 * scale), (int) (5 * scale), blurExtent, centerX, centerY);
+        addHandBounds(bounds, minuteHandAngle(minute, preciseSecond),
+                (int) (65 * scale), (int) (3 * scale), blurExtent, centerX, centerY);
+        if (m.renderPolicy() != RenderScheduler.RenderPolicy.MINUTE) {
+            addHandBounds(bounds, secondHandAngle(preciseSecond),
+                    (int) (75 * scale), (int) (1.5f * scale), blurExtent, centerX, centerY);
+        }
+        return bounds;
+    }
+
+    private void addHandBounds(Rectangle bounds, double angle, int length, int thickness, int blurExtent,
+                               int centerX, int centerY) {
+        int x = (int) (centerX + length * Math.cos(angle));
+        int y = (int) (centerY + length * Math.sin(angle));
+        // 圆头线帽向外延伸半个线宽，阴影线宽 thickness + 2 并偏移 2px
+        int capExtent = (thickness + 2) / 2 + 1 + blurExtent;
+        bounds.add(Math.min(centerX, x) - capExtent, Math.min(centerY, y) - capExtent);
+        bounds.add(Math.max(centerX, x) + 2 + capExtent, Math.max(centerY, y) + 2 + capExtent);
+    }
+
+    /**
+     * 绘制带阴影的指针（低细节层级下不画阴影）
+     */
+    private void drawHandWithShadow(Graphics2D g2d, double angle, int length, HandStrokes strokes, Color color,
+                                    int centerX, int centerY, boolean shadow) {
+        int x = (int) (centerX + length * Math.cos(angle));
+        int y = (int) (centerY + length * Math.sin(angle));
+
+        // 绘制阴影
+        if (shadow) {
+            g2d.setColor(HAND_SHADOW_COLOR);
+            g2d.setStroke(strokes.shadow());
+            g2d.drawLine(centerX + 2, centerY + 2, x + 2, y + 2);
+        }
+
+        // 绘制指针主体
+        g2d.setColor(color);
+        g2d.setStroke(strokes.body());
+        g2d.drawLine(centerX, centerY, x, y);
+    }
+}
@@ -0,0 +1,205 @@
+package com.lk;
+
+import java.awt.Color;
+import java.awt.Paint;
+import java.awt.PaintContext;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+
+/**
+ * 锥形渐变：颜色随绕圆心的角度沿圆弧从起点色过渡到终点色（用于高亮圆环）
+ * - 角度约定与 HighlightSchedule 相同：起始角为 AWT 角度（3 点钟为 0 度，逆时针为正），扫过角度顺时针为正
+ * - 弧段以外的部分（圆头线帽）取较近一端的颜色
+ * 整个缓存区域的渐变栅格在第一次使用时按设备变换计算一次，之后 getRaster 只返回缓存栅格的子视图：
+ * - 只平移了整数个设备像素时（Swing 按脏区域重绘时的原点偏移）按偏移取子视图，不重新计算
+ * - 缩放、旋转或亚像素平移变化（HiDPI、绘制到不同的图层）时重新计算
+ * 每个圆环、每个缩放各一个实例，只能在一个线程中使用
+ */
+final class ConicGradientPaint implements Paint {
+
+    private final double centerX;
+    private final double centerY;
+    private final float startAngle;
+    private final float sweepAngle;
+    private final Color startColor;
+    private final Color endColor;
+    // 用户空间中需要缓存的区域（圆环的外接矩形）
+    private final Rectangle bounds;
+    // 按参数 t（0-255）预先插值的颜色表（非预乘 ARGB）
+    private final int[] colorTable = new int[256];
+
+    private CachedContext cached = null;
+
+    ConicGradientPaint(double centerX, double centerY, float startAngle, float sweepAngle,
+                       Color startColor, Color endColor, Rectangle bounds) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.startAngle = startAngle;
+        this.sweepAngle = Math.max(1e-3f, Math.min(360f, sweepAngle));
+        this.startColor = startColor;
+        this.endColor = endColor;
+        this.bounds = new Rectangle(bounds);
+        int a = startColor.getRGB();
+        int b = endColor.getRGB();
+        for (int i = 0; i < colorTable.length; i++) {
+            colorTable[i] = lerp(a, b, i / 255f);
+        }
+    }
+
+    boolean matches(Color startColor, Color endColor) {
+        return this.startColor.equals(startColor) && this.endColor.equals(endColor);
+    }
+
+    @Override
+    public PaintContext createContext(ColorModel cm, Rectangle deviceBounds, Rectangle2D userBounds,
+                                      AffineTransform xform, RenderingHints hints) {
+        CachedContext context = cached;
+        if (context == null || !context.accepts(xform)) {
+            context = new CachedContext(new AffineTransform(xform));
+            cached = context;
+        }
+        context.moveTo(xform);
+        return context;
+    }
+
+    @Override
+    public int getTransparency() {
+        return startColor.getAlpha() == 255 && endColor.getAlpha() == 255
+                ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+    }
+
+    /**
+     * 设备空间中 (x + 0.5, y + 0.5) 像素中心处的颜色
+     */
+    private int colorAt(AffineTransform inverse, double[] point, int x, int y) {
+        point[0] = x + 0.5;
+        point[1] = y + 0.5;
+        inverse.transform(point, 0, point, 0, 1);
+        // AWT 角度：y 轴向上
+        double angle = Math.toDegrees(Math.atan2(centerY - point[1], point[0] - centerX));
+        // 从起始角顺时针转过的角度
+        double along = (startAngle - angle) % 360;
+        if (along < 0) {
+            along += 360;
+        }
+        double t;
+        if (along <= sweepAngle) {
+            t = along / sweepAngle;
+        } else {
+            // 弧段以外取较近一端
+            t = along - sweepAngle < 360 - along ? 1 : 0;
+        }
+        return colorTable[(int) (t * 255 + 0.5)];
+    }
+
+    private static int lerp(int a, int b, float t) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int ca = (a >>> shift) & 0xff;
+            int cb = (b >>> shift) & 0xff;
+            result |= Math.round(ca + (cb - ca) * t) << shift;
+        }
+        return result;
+    }
+
+    /**
+     * 按设备变换缓存的上下文：持有整个缓存区域的渐变栅格，请求的区域在其中时返回子视图
+     * 栅格按创建时的变换计算，当前变换相对它平移了 (offsetX, offsetY) 个设备像素
+     */
+    private final class CachedContext implements PaintContext {
+
+        private final ColorModel colorModel = ColorModel.getRGBdefault();
+        private final AffineTransform transform;
+        private final AffineTransform inverse;
+        // 缓存栅格覆盖的设备区域
+        private final Rectangle deviceBounds;
+        private WritableRaster raster;
+        // 请求超出缓存区域时使用的临时栅格
+        private WritableRaster scratch;
+        private final double[] point = new double[2];
+        private int offsetX;
+        private int offsetY;
+
+        CachedContext(AffineTransform transform) {
+            this.transform = transform;
+            AffineTransform inv;
+            try {
+                inv = transform.createInverse();
+            } catch (NoninvertibleTransformException e) {
+                inv = new AffineTransform();
+            }
+            this.inverse = inv;
+            Rectangle device = transform.createTransformedShape(bounds).getBounds();
+            device.grow(1, 1);
+            this.deviceBounds = device;
+        }
+
+        /**
+         * 变换与创建时只差整数个设备像素的平移（缩放、旋转和平移的小数部分相同）
+         */
+        boolean accepts(AffineTransform xform) {
+            if (xform.getScaleX() != transform.getScaleX() || xform.getShearY() != transform.getShearY()
+                    || xform.getShearX() != transform.getShearX() || xform.getScaleY() != transform.getScaleY()) {
+                return false;
+            }
+            double dx = xform.getTranslateX() - transform.getTranslateX();
+            double dy = xform.getTranslateY() - transform.getTranslateY();
+            return dx == Math.rint(dx) && dy == Math.rint(dy);
+        }
+
+        /**
+         * 切换到 accepts 接受的变换：记录平移的设备像素数
+         */
+        void moveTo(AffineTransform xform) {
+            offsetX = (int) Math.rint(xform.getTranslateX() - transform.getTranslateX());
+            offsetY = (int) Math.rint(xform.getTranslateY() - transform.getTranslateY());
+        }
+
+        @Override
+        public ColorModel getColorModel() {
+            return colorModel;
+        }
+
+        @Override
+        public Raster getRaster(int x, int y, int w, int h) {
+            // 换算到创建时变换下的设备坐标
+            x -= offsetX;
+            y -= offsetY;
+            if (deviceBounds.contains(x, y, w, h)) {
+                if (raster == null) {
+                    raster = render(deviceBounds.x, deviceBounds.y, deviceBounds.width, deviceBounds.height, null);
+                }
+                return raster.createChild(x - deviceBounds.x, y - deviceBounds.y, w, h, 0, 0, null);
+            }
+            scratch = render(x, y, w, h, scratch);
+            return scratch;
+        }
+
+        @Override
+        public void dispose() {
+            // 上下文随渐变缓存复用，不释放
+        }
+
+        private WritableRaster render(int x, int y, int w, int h, WritableRaster reuse) {
+            WritableRaster target = reuse != null && reuse.getWidth() >= w && reuse.getHeight() >= h
+                    ? reuse : colorModel.createCompatibleWritableRaster(w, h);
+            int[] data = ((DataBufferInt) target.getDataBuffer()).getData();
+            int stride = target.getWidth();
+            for (int row = 0; row < h; row++) {
+                int offset = row * stride;
+                for (int col = 0; col < w; col++) {
+                    data[offset + col] = colorAt(inverse, point, x + col, y + row);
+                }
+            }
+            return target;
+        }
+    }
+}
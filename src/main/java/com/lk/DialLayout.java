@@ -0,0 +1,128 @@
+package com.lk;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+
+/**
+ * 表盘布局模型：按表盘尺寸一次性计算 60 个刻度的端点坐标和 12 个数字的字形及最终位置
+ * 绘制时只回放缓存的图元，不再做三角函数运算和字形排版
+ */
+class DialLayout {
+
+    // 三角函数表：第 i 个刻度（每 6 度一个，从 12 点开始顺时针）的 cos / sin
+    private static final double[] MARK_COS = new double[60];
+    private static final double[] MARK_SIN = new double[60];
+
+    static {
+        for (int i = 0; i < 60; i++) {
+            double angle = Math.toRadians(i * 6 - 90);
+            MARK_COS[i] = Math.cos(angle);
+            MARK_SIN[i] = Math.sin(angle);
+        }
+    }
+
+    private static final String[] NUMBER_STRINGS = {"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"};
+
+    private final int[] markX1 = new int[60];
+    private final int[] markY1 = new int[60];
+    private final int[] markX2 = new int[60];
+    private final int[] markY2 = new int[60];
+
+    private final GlyphVector[] numberGlyphs = new GlyphVector[12];
+    private final float[] numberX = new float[12];
+    private final float[] numberY = new float[12];
+
+    /**
+     * @param currentSize 表盘像素尺寸
+     * @param numberFont 数字字体
+     * @param numberMetrics 数字字体度量
+     */
+    DialLayout(int currentSize, Font numberFont, FontMetrics numberMetrics) {
+        int centerX = currentSize / 2;
+        int centerY = currentSize / 2;
+        int radius = currentSize / 2;
+
+        for (int i = 0; i < 60; i++) {
+            // 小时刻度较长，分钟刻度较短
+            int outerRadius = (int) (radius * 0.98);
+            int innerRadius = i % 5 == 0 ? (int) (radius * 0.90) : (int) (radius * 0.94);
+            markX1[i] = (int) (centerX + outerRadius * MARK_COS[i]);
+            markY1[i] = (int) (centerY + outerRadius * MARK_SIN[i]);
+            markX2[i] = (int) (centerX + innerRadius * MARK_COS[i]);
+            markY2[i] = (int) (centerY + innerRadius * MARK_SIN[i]);
+        }
+
+        FontRenderContext frc = numberMetrics.getFontRenderContext();
+        int strHeight = numberMetrics.getAscent();
+        for (int i = 1; i <= 12; i++) {
+            // 数字位置稍微外移，增加与圆环的间距（复用刻度三角函数表，第 i 小时对应第 i*5 个刻度）
+            int mark = (i * 5) % 60;
+            int x = Math.toIntExact(Math.round(centerX + radius * 0.82 * MARK_COS[mark]));
+            int y = Math.toIntExact(Math.round(centerY + radius * 0.82 * MARK_SIN[mark]));
+
+            String num = NUMBER_STRINGS[i - 1];
+            numberGlyphs[i - 1] = numberFont.createGlyphVector(frc, num);
+            numberX[i - 1] = x - numberMetrics.stringWidth(num) / 2;
+            numberY[i - 1] = y + strHeight / 3;
+        }
+    }
+
+    /**
+     * 绘制分钟刻度
+     * @param minorMarks false 时只绘制 12 个整点刻度
+     */
+    void drawMinuteMarks(Graphics2D g2d, Color hourMarkColor, Stroke hourMarkStroke,
+                         Color minuteMarkColor, Stroke minuteMarkStroke, boolean minorMarks) {
+        for (int i = 0; i < 60; i += minorMarks ? 1 : 5) {
+            if (i % 5 == 0) {
+                g2d.setColor(hourMarkColor);
+                g2d.setStroke(hourMarkStroke);
+            } else {
+                g2d.setColor(minuteMarkColor);
+                g2d.setStroke(minuteMarkStroke);
+            }
+            g2d.drawLine(markX1[i], markY1[i], markX2[i], markY2[i]);
+        }
+    }
+
+    /**
+     * 绘制数字
+     */
+    void drawNumbers(Graphics2D g2d, Color color) {
+        g2d.setColor(color);
+        for (int i = 0; i < 12; i++) {
+            g2d.drawGlyphVector(numberGlyphs[i], numberX[i], numberY[i]);
+        }
+    }
+
+    /**
+     * 构建沿弧线切线方向排列的标签轮廓（已包含最终位置和旋转），绘制时直接 fill
+     * @param midAngleDeg 标签中心从 12 点顺时针的角度
+     */
+    static Shape createArcLabelShape(String label, Font font, FontMetrics fm,
+                                     int centerX, int centerY, int labelRadius, float midAngleDeg) {
+        double awtAngleRad = Math.toRadians(90 - midAngleDeg);
+        int labelX = (int) (centerX + labelRadius * Math.cos(awtAngleRad));
+        int labelY = (int) (centerY - labelRadius * Math.sin(awtAngleRad));
+
+        // 文字沿切线方向（沿圆周）；在下半圆（90-270度）文字会倒过来，需要翻转
+        double tangentAngle = midAngleDeg;
+        if (midAngleDeg > 90 && midAngleDeg < 270) {
+            tangentAngle += 180;
+        }
+
+        GlyphVector glyphs = font.createGlyphVector(fm.getFontRenderContext(), label);
+        Shape outline = glyphs.getOutline(-fm.stringWidth(label) / 2, fm.getAscent() / 3);
+
+        AffineTransform transform = AffineTransform.getTranslateInstance(labelX, labelY);
+        transform.rotate(Math.toRadians(tangentAngle));
+        return transform.createTransformedShape(outline);
+    }
+}
@@ -4,6 +4,10 @@ import com.github.kwhat.jnativehook.GlobalScreen;
 import com.github.kwhat.jnativehook.NativeHookException;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyEvent;
 import com.github.kwhat.jnativehook.keyboard.NativeKeyListener;
+import com.github.kwhat.jnativehook.mouse.NativeMouseEvent;
+import com.github.kwhat.jnativehook.mouse.NativeMouseInputListener;
+import com.github.kwhat.jnativehook.mouse.NativeMouseWheelEvent;
+import com.github.kwhat.jnativehook.mouse.NativeMouseWheelListener;
 
 import javax.swing.*;
 import java.util.logging.Level;
@@ -11,15 +15,51 @@ import java.util.logging.Logger;
 
 /**
  * 全局快捷键管理器
- * 使用 JNativeHook 库实现系统级全局快捷键
+ * 使用 JNativeHook 库实现系统级全局快捷键；同一个钩子的键盘、鼠标和滚轮事件同时报告给用户活动跟踪
  */
 public class GlobalHotkeyManager implements NativeKeyListener {
     
     private final AnalogClock clockFrame;
+    private final ActivityTracker activity;
+    private final ActivityListener activityListener;
     private boolean altPressed = false;
     
-    public GlobalHotkeyManager(AnalogClock clockFrame) {
+    /**
+     * 鼠标和滚轮事件只记录活动时刻（钩子线程上调用，不做其他处理）
+     */
+    private static final class ActivityListener implements NativeMouseInputListener, NativeMouseWheelListener {
+        
+        private final ActivityTracker activity;
+        
+        ActivityListener(ActivityTracker activity) {
+            this.activity = activity;
+        }
+        
+        @Override
+        public void nativeMousePressed(NativeMouseEvent e) {
+            activity.recordActivity();
+        }
+        
+        @Override
+        public void nativeMouseMoved(NativeMouseEvent e) {
+            activity.recordActivity();
+        }
+        
+        @Override
+        public void nativeMouseDragged(NativeMouseEvent e) {
+            activity.recordActivity();
+        }
+        
+        @Override
+        public void nativeMouseWheelMoved(NativeMouseWheelEvent e) {
+            activity.recordActivity();
+        }
+    }
+    
+    GlobalHotkeyManager(AnalogClock clockFrame, ActivityTracker activity) {
         this.clockFrame = clockFrame;
+        this.activity = activity;
+        this.activityListener = new ActivityListener(activity);
     }
     
     /**
@@ -34,6 +74,11 @@ public class GlobalHotkeyManager implements NativeKeyListener {
             
             GlobalScreen.registerNativeHook();
             GlobalScreen.addNativeKeyListener(this);
+            GlobalScreen.addNativeMouseListener(activityListener);
+            GlobalScreen.addNativeMouseMotionListener(activityListener);
+            GlobalScreen.addNativeMouseWheelListener(activityListener);
+            // 钩子可用：用户活动改为事件驱动，不再每秒查询鼠标位置
+            activity.setHooked(true);
             System.out.println("全局快捷键已启用: Alt+C 显示/隐藏, Alt+T 切换置顶");
         } catch (NativeHookException e) {
             System.err.println("无法注册全局快捷键: " + e.getMessage());
@@ -50,6 +95,9 @@ public class GlobalHotkeyManager implements NativeKeyListener {
     public void stop() {
         try {
             GlobalScreen.removeNativeKeyListener(this);
+            GlobalScreen.removeNativeMouseListener(activityListener);
+            GlobalScreen.removeNativeMouseMotionListener(activityListener);
+            GlobalScreen.removeNativeMouseWheelListener(activityListener);
             GlobalScreen.unregisterNativeHook();
         } catch (NativeHookException e) {
             System.err.println("无法注销全局快捷键: " + e.getMessage());
@@ -58,6 +106,9 @@ public class GlobalHotkeyManager implements NativeKeyListener {
     
     @Override
     public void nativeKeyPressed(NativeKeyEvent e) {
+        // 只打字不动鼠标也算活跃
+        activity.recordActivity();
+        
         // 检测 Alt 键
         if (e.getKeyCode() == NativeKeyEvent.VC_ALT) {
             altPressed = true;
@@ -0,0 +1,223 @@
+package com.lk;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * 指针层软件光栅化：三根指针（含硬阴影）和中心点直接写入 TYPE_INT_ARGB_PRE 图像的 int[] 像素，不经过 Graphics2D 描边管线
+ * - 圆头粗线按像素中心到线段的距离计算覆盖率（抗锯齿 1px 过渡），圆点同理按到圆心的距离
+ * - 按预乘 alpha 做 SrcOver 混合，几何与 Graphics2D 的 drawLine / fillOval 一致（像素中心在 +0.5 处）
+ * - 只清除和贴上一帧 / 本帧实际写过的矩形区域，每帧不分配对象
+ * 按设备像素光栅化（HiDPI 下坐标乘以设备缩放），贴图时抵消设备缩放；只能在绘制线程使用
+ */
+final class HandRasterizer {
+
+    private BufferedImage image;
+    private int[] pixels;
+    private int width;
+    private int height;
+    private double pixelScale = 1;
+    // 线段端点在设备像素中的偏移：STROKE_NORMALIZE 下 Graphics2D 把描边端点移到像素中心（填充不受影响）
+    private double lineOffset = 0;
+    private final AffineTransform savedTransform = new AffineTransform();
+
+    // 本帧写过的像素范围（设备像素，右下不含），minX >= maxX 表示空
+    private int dirtyMinX;
+    private int dirtyMinY;
+    private int dirtyMaxX;
+    private int dirtyMaxY;
+
+    /**
+     * 开始新的一帧：尺寸或设备缩放变化时重建图像，否则只清除上一帧写过的区域
+     * @param size 表盘边长（逻辑像素）
+     * @param pixelScale 设备缩放（HiDPI），普通屏幕为 1
+     * @param normalize 与 Graphics2D 的 STROKE_NORMALIZE 提示对应
+     */
+    void begin(int size, double pixelScale, boolean normalize) {
+        lineOffset = normalize ? 0.5 : 0;
+        int deviceSize = (int) Math.ceil(size * pixelScale);
+        if (image == null || width != deviceSize || this.pixelScale != pixelScale) {
+            image = new BufferedImage(deviceSize, deviceSize, BufferedImage.TYPE_INT_ARGB_PRE);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            width = deviceSize;
+            height = deviceSize;
+            this.pixelScale = pixelScale;
+        } else if (dirtyMinX < dirtyMaxX) {
+            for (int y = dirtyMinY; y < dirtyMaxY; y++) {
+                int row = y * width;
+                Arrays.fill(pixels, row + dirtyMinX, row + dirtyMaxX, 0);
+            }
+        }
+        dirtyMinX = width;
+        dirtyMinY = height;
+        dirtyMaxX = 0;
+        dirtyMaxY = 0;
+    }
+
+    /**
+     * 绘制圆头粗线，等价于 BasicStroke(width, CAP_ROUND) 的 drawLine（坐标为逻辑像素）
+     * 线宽小于 1 时按 1 像素绘制（Graphics2D 的 0 宽描边几乎不可见，这里保证小尺寸下秒针仍可见）
+     */
+    void drawLine(double x0, double y0, double x1, double y1, float lineWidth, Color color) {
+        double s = pixelScale;
+        x0 = x0 * s + lineOffset;
+        y0 = y0 * s + lineOffset;
+        x1 = x1 * s + lineOffset;
+        y1 = y1 * s + lineOffset;
+        double halfWidth = Math.max(1, lineWidth) * s / 2;
+        // 覆盖率在距离 halfWidth - 0.5 到 halfWidth + 0.5 之间线性过渡
+        double outer = halfWidth + 0.5;
+        int minX = clampX((int) Math.floor(Math.min(x0, x1) - outer));
+        int maxX = clampX((int) Math.ceil(Math.max(x0, x1) + outer));
+        int minY = clampY((int) Math.floor(Math.min(y0, y1) - outer));
+        int maxY = clampY((int) Math.ceil(Math.max(y0, y1) + outer));
+
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double lengthSq = dx * dx + dy * dy;
+        double invLengthSq = lengthSq > 0 ? 1 / lengthSq : 0;
+        double outerSq = outer * outer;
+        int argb = color.getRGB();
+
+        // 线段所在直线两侧 outer 范围内的带状区域包含整个圆头粗线：倾斜的指针每行只扫描与带状区域相交的一段
+        double bandHalfWidth = outer * Math.sqrt(lengthSq);
+        boolean spans = Math.abs(dy) > 0.5;
+        for (int y = minY; y < maxY; y++) {
+            double py = y + 0.5 - y0;
+            int row = y * width;
+            int fromX = minX;
+            int toX = maxX;
+            if (spans) {
+                double a = (py * dx - bandHalfWidth) / dy;
+                double b = (py * dx + bandHalfWidth) / dy;
+                fromX = Math.max(minX, (int) Math.floor(x0 + Math.min(a, b) - 0.5));
+                toX = Math.min(maxX, (int) Math.ceil(x0 + Math.max(a, b) - 0.5) + 1);
+            }
+            for (int x = fromX; x < toX; x++) {
+                double px = x + 0.5 - x0;
+                // 像素中心在线段上的投影参数，限制在端点之间（超出部分即圆头）
+                double t = (px * dx + py * dy) * invLengthSq;
+                t = t < 0 ? 0 : (t > 1 ? 1 : t);
+                double ex = px - t * dx;
+                double ey = py - t * dy;
+                double distSq = ex * ex + ey * ey;
+                if (distSq >= outerSq) {
+                    continue;
+                }
+                double coverage = outer - Math.sqrt(distSq);
+                blend(row + x, argb, coverage >= 1 ? 256 : (int) (coverage * 256));
+            }
+        }
+        markDirty(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * 填充圆，等价于 Graphics2D.fillOval(x, y, diameter, diameter)（坐标为逻辑像素）
+     */
+    void fillDisc(int x, int y, int diameter, Color color) {
+        if (diameter <= 0) {
+            return;
+        }
+        double s = pixelScale;
+        double radius = diameter * s / 2;
+        double cx = x * s + radius;
+        double cy = y * s + radius;
+        double outer = radius + 0.5;
+        int minX = clampX((int) Math.floor(cx - outer));
+        int maxX = clampX((int) Math.ceil(cx + outer));
+        int minY = clampY((int) Math.floor(cy - outer));
+        int maxY = clampY((int) Math.ceil(cy + outer));
+        double outerSq = outer * outer;
+        int argb = color.getRGB();
+
+        for (int py = minY; py < maxY; py++) {
+            double ey = py + 0.5 - cy;
+            int row = py * width;
+            for (int px = minX; px < maxX; px++) {
+                double ex = px + 0.5 - cx;
+                double distSq = ex * ex + ey * ey;
+                if (distSq >= outerSq) {
+                    continue;
+                }
+                // 半径小于 1 像素时覆盖率不超过圆的面积占比
+                double coverage = Math.min(outer - Math.sqrt(distSq), 2 * radius);
+                blend(row + px, argb, coverage >= 1 ? 256 : (int) (coverage * 256));
+            }
+        }
+        markDirty(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * 把本帧写过的区域贴到 g2d 上（(0, 0) 对应表盘左上角）
+     */
+    void drawTo(Graphics2D g2d) {
+        if (dirtyMinX >= dirtyMaxX) {
+            return;
+        }
+        if (pixelScale == 1) {
+            g2d.drawImage(image, dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY,
+                    dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY, null);
+            return;
+        }
+        // 抵消设备缩放，图像像素与设备像素一一对应
+        AffineTransform transform = g2d.getTransform();
+        savedTransform.setTransform(transform);
+        g2d.scale(1 / pixelScale, 1 / pixelScale);
+        g2d.drawImage(image, dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY,
+                dirtyMinX, dirtyMinY, dirtyMaxX, dirtyMaxY, null);
+        g2d.setTransform(savedTransform);
+    }
+
+    /**
+     * 预乘 alpha 的 SrcOver 混合
+     * @param coverage 覆盖率，0-256
+     */
+    private void blend(int index, int argb, int coverage) {
+        int srcAlpha = ((argb >>> 24) * coverage) >> 8;
+        if (srcAlpha == 0) {
+            return;
+        }
+        int r = mul255((argb >> 16) & 0xff, srcAlpha);
+        int g = mul255((argb >> 8) & 0xff, srcAlpha);
+        int b = mul255(argb & 0xff, srcAlpha);
+        int inverse = 255 - srcAlpha;
+        int dst = pixels[index];
+        if (dst != 0 && inverse != 0) {
+            srcAlpha += mul255(dst >>> 24, inverse);
+            r += mul255((dst >> 16) & 0xff, inverse);
+            g += mul255((dst >> 8) & 0xff, inverse);
+            b += mul255(dst & 0xff, inverse);
+        }
+        pixels[index] = (srcAlpha << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * a * b / 255，四舍五入
+     */
+    private static int mul255(int a, int b) {
+        int t = a * b + 128;
+        return (t + (t >> 8)) >> 8;
+    }
+
+    private int clampX(int x) {
+        return Math.max(0, Math.min(width, x));
+    }
+
+    private int clampY(int y) {
+        return Math.max(0, Math.min(height, y));
+    }
+
+    private void markDirty(int minX, int minY, int maxX, int maxY) {
+        if (minX >= maxX || minY >= maxY) {
+            return;
+        }
+        dirtyMinX = Math.min(dirtyMinX, minX);
+        dirtyMinY = Math.min(dirtyMinY, minY);
+        dirtyMaxX = Math.max(dirtyMaxX, maxX);
+        dirtyMaxY = Math.max(dirtyMaxY, maxY);
+    }
+}
@@ -0,0 +1,138 @@
+package com.lk;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+
+/**
+ * 指针贴图：指针主体和模糊阴影各预先绘制成一张水平放置的小图（根部在左，指向右方）
+ * 每帧按指针角度旋转贴图（双线性插值），不再描边
+ * 阴影用高斯卷积核模糊一次；阴影在屏幕坐标中固定向右下偏移，所以与主体分开贴图，旋转后偏移方向不变
+ * 只在缩放、指针颜色或细节层级变化时重新生成；draw 复用变换对象，只能在绘制线程调用
+ */
+final class HandSprite {
+
+    private static final Color SHADOW_COLOR = new Color(0, 0, 0, 70);
+    // 阴影相对指针的偏移（像素）
+    static final int SHADOW_OFFSET = 2;
+
+    private final BufferedImage body;
+    // 不画阴影时为 null
+    private final BufferedImage shadow;
+    // 指针根部（表盘中心）在贴图中的位置
+    private final double pivotX;
+    private final double pivotY;
+    private final Color color;
+    private final AffineTransform transform = new AffineTransform();
+
+    private HandSprite(BufferedImage body, BufferedImage shadow, double pivotX, double pivotY, Color color) {
+        this.body = body;
+        this.shadow = shadow;
+        this.pivotX = pivotX;
+        this.pivotY = pivotY;
+        this.color = color;
+    }
+
+    /**
+     * 阴影模糊半径（像素），随缩放增大
+     */
+    static int blurRadius(float scale) {
+        return Math.max(1, Math.round(2 * scale));
+    }
+
+    /**
+     * @param length 指针长度（从表盘中心到针尖）
+     * @param thickness 指针线宽
+     * @param withShadow 是否生成阴影
+     */
+    static HandSprite create(int length, int thickness, Color color, float scale, boolean withShadow) {
+        float width = Math.max(1, thickness);
+        int blurRadius = blurRadius(scale);
+        // 留出圆头线帽、阴影线宽和模糊扩散的空间
+        int pad = (int) Math.ceil(width / 2) + 2 + blurRadius;
+        int imageWidth = length + pad * 2;
+        int imageHeight = (int) Math.ceil(width) + pad * 2;
+        double pivotX = pad;
+        double pivotY = imageHeight / 2.0;
+        Line2D.Double line = new Line2D.Double(pivotX, pivotY, pivotX + length, pivotY);
+
+        BufferedImage body = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = body.createGraphics();
+        try {
+            applyQualityHints(g);
+            g.setColor(color);
+            g.setStroke(new BasicStroke(width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g.draw(line);
+        } finally {
+            g.dispose();
+        }
+
+        BufferedImage shadow = null;
+        if (withShadow) {
+            BufferedImage hard = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+            g = hard.createGraphics();
+            try {
+                applyQualityHints(g);
+                g.setColor(SHADOW_COLOR);
+                g.setStroke(new BasicStroke(width + 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+                g.draw(line);
+            } finally {
+                g.dispose();
+            }
+            shadow = blur(hard, blurRadius);
+        }
+        return new HandSprite(body, shadow, pivotX, pivotY, color);
+    }
+
+    boolean matches(Color color, boolean withShadow) {
+        return this.color.equals(color) && (shadow != null) == withShadow;
+    }
+
+    /**
+     * 以 (centerX, centerY) 为根部按角度绘制指针（角度为 AWT 弧度，3 点钟为 0，顺时针为正）
+     */
+    void draw(Graphics2D g2d, double angle, int centerX, int centerY) {
+        if (shadow != null) {
+            drawRotated(g2d, shadow, angle, centerX + SHADOW_OFFSET, centerY + SHADOW_OFFSET);
+        }
+        drawRotated(g2d, body, angle, centerX, centerY);
+    }
+
+    private void drawRotated(Graphics2D g2d, BufferedImage image, double angle, double x, double y) {
+        transform.setToTranslation(x, y);
+        transform.rotate(angle);
+        transform.translate(-pivotX, -pivotY);
+        g2d.drawImage(image, transform, null);
+    }
+
+    /**
+     * 可分离的高斯模糊：先水平后垂直两次一维卷积（预乘 alpha，边缘透明，不产生暗边）
+     */
+    private static BufferedImage blur(BufferedImage source, int radius) {
+        float[] kernel = new float[radius * 2 + 1];
+        double sigma = radius / 2.0 + 0.5;
+        float sum = 0;
+        for (int i = -radius; i <= radius; i++) {
+            kernel[i + radius] = (float) Math.exp(-(i * i) / (2 * sigma * sigma));
+            sum += kernel[i + radius];
+        }
+        for (int i = 0; i < kernel.length; i++) {
+            kernel[i] /= sum;
+        }
+        ConvolveOp horizontal = new ConvolveOp(new Kernel(kernel.length, 1, kernel), ConvolveOp.EDGE_NO_OP, null);
+        ConvolveOp vertical = new ConvolveOp(new Kernel(1, kernel.length, kernel), ConvolveOp.EDGE_NO_OP, null);
+        return vertical.filter(horizontal.filter(source, null), null);
+    }
+
+    private static void applyQualityHints(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+    }
+}
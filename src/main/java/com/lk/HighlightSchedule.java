@@ -0,0 +1,199 @@
+package com.lk;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 高亮区域的不可变索引：高亮区域变化时构建一次，渲染、命中测试和触发监控共享读取
+ * - 按开始时间排序的区域（绘制顺序）和原始顺序的区域（命中测试、触发顺序）
+ * - 预计算的相邻标记（前后是否紧挨其他区域）、是否跨越午夜、12 小时制投影角度
+ * - 构建时拷贝的颜色、标签和触发器：之后直接修改 HighlightSetting 不影响已构建的索引，需重新构建才生效；
+ *   触发监控只读这些拷贝，不读 EDT 上可能正在修改的设置对象
+ */
+final class HighlightSchedule {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    static final HighlightSchedule EMPTY = of(Collections.emptyList());
+
+    /**
+     * 单个区域的预计算信息
+     * @param startMinute 开始时间（24 小时制总分钟数）
+     * @param endMinute 结束时间（24 小时制总分钟数）
+     * @param startMin12 开始时间投影到 12 小时表盘（0-719）
+     * @param endMin12 结束时间投影到 12 小时表盘（0-719）
+     * @param sweepStartAngle 圆弧起始角度（AWT 角度，3 点钟为 0 度，逆时针为正）
+     * @param sweepAngle 圆弧扫过的角度（顺时针，正值）
+     * @param labelAngle 标签所在的弧段中点角度（从 12 点钟顺时针）
+     * @param label 去掉首尾空白的标签文字，没有标签时为空串
+     * @param enter 进入触发的拷贝（只读）
+     * @param exit 退出触发的拷贝（只读）
+     * @param interval 间隔触发的拷贝（只读）
+     */
+    record Entry(AnalogClock.HighlightSetting setting, int startMinute, int endMinute,
+                 int startMin12, int endMin12, boolean adjacentBefore, boolean adjacentAfter,
+                 float sweepStartAngle, float sweepAngle, float labelAngle,
+                 Color highlightColor, String label, Color labelColor,
+                 ClockConfig.TriggerConfig enter, ClockConfig.TriggerConfig exit,
+                 ClockConfig.TriggerConfig interval) {
+
+        boolean wrapsMidnight() {
+            return startMinute > endMinute;
+        }
+
+        /**
+         * 指定时刻（24 小时制总分钟数）是否在区域内
+         */
+        boolean contains(int minuteOfDay) {
+            return inRange(minuteOfDay, startMinute, endMinute);
+        }
+
+        /**
+         * 表盘上的指定位置（12 小时制总分钟数）是否落在区域的投影内
+         */
+        boolean contains12(int minute12) {
+            return inRange(minute12, startMin12, endMin12);
+        }
+    }
+
+    private final Entry[] inOrder;
+    private final Entry[] byStart;
+    private final List<AnalogClock.HighlightSetting> areas;
+    // 命中测试查找表：12 小时表盘上每分钟对应的区域（重叠时取原始顺序中的第一个），空位为 null
+    private final Entry[] slots12;
+
+    private HighlightSchedule(Entry[] inOrder, Entry[] byStart, List<AnalogClock.HighlightSetting> areas,
+                              Entry[] slots12) {
+        this.inOrder = inOrder;
+        this.byStart = byStart;
+        this.areas = areas;
+        this.slots12 = slots12;
+    }
+
+    /**
+     * 为当前的高亮区域构建索引（拷贝列表，之后对列表的增删不影响索引）
+     */
+    static HighlightSchedule of(List<AnalogClock.HighlightSetting> settings) {
+        int n = settings.size();
+
+        // 统计每个时刻作为开始/结束时间出现的次数，O(n) 求相邻关系
+        int[] startCounts = new int[MINUTES_PER_DAY + 1];
+        int[] endCounts = new int[MINUTES_PER_DAY + 1];
+        for (AnalogClock.HighlightSetting setting : settings) {
+            startCounts[startMinuteOf(setting)]++;
+            endCounts[endMinuteOf(setting)]++;
+        }
+
+        Entry[] inOrder = new Entry[n];
+        for (int i = 0; i < n; i++) {
+            AnalogClock.HighlightSetting setting = settings.get(i);
+            int start = startMinuteOf(setting);
+            int end = endMinuteOf(setting);
+            // 排除区域自身（开始时间等于自身结束时间时不算相邻）
+            int self = start == end ? 1 : 0;
+            boolean adjacentBefore = endCounts[start] - self > 0;
+            boolean adjacentAfter = startCounts[end] - self > 0;
+
+            float sweepStartAngle = 90f - (start % 720) * 0.5f;
+            float sweepAngle = end > start ? (end - start) * 0.5f : (MINUTES_PER_DAY - start + end) * 0.5f;
+
+            float startAngle = start * 0.5f;
+            float endAngle = end * 0.5f;
+            float labelAngle;
+            if (endAngle > startAngle) {
+                labelAngle = (startAngle + endAngle) / 2.0f;
+            } else {
+                labelAngle = (startAngle + endAngle + 360) / 2.0f;
+                if (labelAngle >= 360) labelAngle -= 360;
+            }
+
+            int startMin12 = (setting.getStartHour() % 12) * 60 + setting.getStartMinute();
+            int endMin12 = (setting.getEndHour() % 12) * 60 + setting.getEndMinute();
+
+            String label = setting.getLabel() != null ? setting.getLabel().trim() : "";
+
+            inOrder[i] = new Entry(setting, start, end, startMin12, endMin12, adjacentBefore, adjacentAfter,
+                    sweepStartAngle, sweepAngle, labelAngle,
+                    setting.getHighlightColor(), label, setting.getLabelColor(),
+                    new ClockConfig.TriggerConfig(setting.getEnter()), new ClockConfig.TriggerConfig(setting.getExit()),
+                    new ClockConfig.TriggerConfig(setting.getInterval()));
+        }
+
+        Entry[] byStart = inOrder.clone();
+        Arrays.sort(byStart, Comparator.comparingInt(Entry::startMinute));
+
+        List<AnalogClock.HighlightSetting> areas = new ArrayList<>(n);
+        for (Entry entry : inOrder) {
+            areas.add(entry.setting());
+        }
+
+        // 按原始顺序填充查找表，已被前面区域占用的分钟不覆盖
+        Entry[] slots12 = new Entry[720];
+        for (Entry entry : inOrder) {
+            int minute = entry.startMin12();
+            int length = Math.floorMod(entry.endMin12() - entry.startMin12(), 720);
+            for (int k = 0; k < length; k++) {
+                if (slots12[minute] == null) {
+                    slots12[minute] = entry;
+                }
+                minute = minute + 1 == 720 ? 0 : minute + 1;
+            }
+        }
+        return new HighlightSchedule(inOrder, byStart, Collections.unmodifiableList(areas), slots12);
+    }
+
+    int size() {
+        return inOrder.length;
+    }
+
+    /**
+     * 按原始顺序取区域（触发检测顺序）
+     */
+    Entry get(int index) {
+        return inOrder[index];
+    }
+
+    /**
+     * 按开始时间排序取区域（绘制顺序）
+     */
+    Entry sorted(int index) {
+        return byStart[index];
+    }
+
+    /**
+     * 建索引时的区域列表（只读）
+     */
+    List<AnalogClock.HighlightSetting> areas() {
+        return areas;
+    }
+
+    /**
+     * 查找表盘指定位置（12 小时制总分钟数，0-719）上的区域，多个区域重叠时按原始顺序取第一个
+     */
+    Entry findAt12(int minute12) {
+        return slots12[minute12];
+    }
+
+    /**
+     * 判断时刻是否在 [start, end) 内，start 大于 end 时表示跨越午夜（或 12 点）
+     */
+    static boolean inRange(int minute, int start, int end) {
+        if (start <= end) {
+            return minute >= start && minute < end;
+        } else {
+            return minute >= start || minute < end;
+        }
+    }
+
+    private static int startMinuteOf(AnalogClock.HighlightSetting setting) {
+        return setting.getStartHour() * 60 + setting.getStartMinute();
+    }
+
+    private static int endMinuteOf(AnalogClock.HighlightSetting setting) {
+        return setting.getEndHour() * 60 + setting.getEndMinute();
+    }
+}
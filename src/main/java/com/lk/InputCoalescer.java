@@ -0,0 +1,120 @@
+package com.lk;
+
+import javax.swing.Timer;
+
+/**
+ * 鼠标输入合并器：拖动目标位置和悬停位置只记录最新值，滚轮档数累加，每个显示帧最多提交一次
+ * 高回报率鼠标每秒数百个移动、滚轮事件，最终只产生每帧一次窗口移动、一次缩放和一次悬停检测（及其重绘）
+ * 所有方法都在 EDT 上调用
+ */
+class InputCoalescer {
+
+    // 提交间隔（约 60fps 的一帧）
+    static final int FRAME_INTERVAL_MS = 16;
+
+    /**
+     * 接收合并后的坐标
+     */
+    interface PointConsumer {
+        void accept(int x, int y);
+    }
+
+    /**
+     * 接收合并后的缩放
+     */
+    interface ZoomConsumer {
+        void accept(int steps, int xOnScreen, int yOnScreen);
+    }
+
+    private final PointConsumer moveTarget;
+    private final PointConsumer hoverTarget;
+    private final ZoomConsumer zoomTarget;
+    private final Timer frameTimer;
+
+    // 待提交的窗口位置（屏幕坐标）
+    private boolean movePending = false;
+    private int moveX, moveY;
+    // 待提交的悬停位置（面板坐标）
+    private boolean hoverPending = false;
+    private int hoverX, hoverY;
+    // 待提交的缩放档数和最后一次滚轮时的鼠标位置（屏幕坐标）
+    private int zoomSteps = 0;
+    private int zoomX, zoomY;
+
+    /**
+     * @param moveTarget 提交窗口移动（参数为窗口左上角的屏幕坐标）
+     * @param hoverTarget 提交悬停检测（参数为面板坐标）
+     * @param zoomTarget 提交缩放（参数为累计档数和鼠标的屏幕坐标）
+     */
+    InputCoalescer(PointConsumer moveTarget, PointConsumer hoverTarget, ZoomConsumer zoomTarget) {
+        this.moveTarget = moveTarget;
+        this.hoverTarget = hoverTarget;
+        this.zoomTarget = zoomTarget;
+        this.frameTimer = new Timer(FRAME_INTERVAL_MS, e -> flush());
+        this.frameTimer.setRepeats(false);
+    }
+
+    /**
+     * 记录拖动后的窗口目标位置，下一帧提交
+     */
+    void moveTo(int x, int y) {
+        moveX = x;
+        moveY = y;
+        movePending = true;
+        schedule();
+    }
+
+    /**
+     * 记录鼠标悬停位置，下一帧提交
+     */
+    void hoverAt(int x, int y) {
+        hoverX = x;
+        hoverY = y;
+        hoverPending = true;
+        schedule();
+    }
+
+    /**
+     * 累加滚轮档数（正数放大、负数缩小），记录鼠标位置，下一帧提交
+     */
+    void zoomBy(int steps, int xOnScreen, int yOnScreen) {
+        zoomSteps += steps;
+        zoomX = xOnScreen;
+        zoomY = yOnScreen;
+        schedule();
+    }
+
+    /**
+     * 丢弃尚未提交的悬停位置（鼠标离开面板或打开对话框时）
+     */
+    void cancelHover() {
+        hoverPending = false;
+    }
+
+    /**
+     * 立即提交所有待处理的输入（如松开鼠标时落定窗口位置）
+     */
+    void flush() {
+        frameTimer.stop();
+        // 先缩放：之后的拖动位置和悬停检测按缩放后的窗口计算
+        if (zoomSteps != 0) {
+            int steps = zoomSteps;
+            zoomSteps = 0;
+            zoomTarget.accept(steps, zoomX, zoomY);
+        }
+        if (movePending) {
+            movePending = false;
+            moveTarget.accept(moveX, moveY);
+        }
+        if (hoverPending) {
+            hoverPending = false;
+            hoverTarget.accept(hoverX, hoverY);
+        }
+    }
+
+    private void schedule() {
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+}
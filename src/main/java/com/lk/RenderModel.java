@@ -0,0 +1,62 @@
+package com.lk;
+
+import com.lk.AnalogClock.HighlightSetting;
+
+import java.awt.Color;
+
+/**
+ * 渲染模型：绘制一帧所需全部输入的不可变快照（缩放、颜色、标签开关、区域索引、悬停、Toast、渲染策略）
+ * 写入方（设置对话框、热键、定时器）每次修改后构建新的快照，由 ClockRenderer 通过一次 volatile 写发布
+ * 绘制和命中测试每次只读取一个快照，不加锁，也不会看到改了一半的配置
+ * 区域的颜色和标签在构建索引时已拷贝（见 HighlightSchedule.Entry），之后直接修改 HighlightSetting 不影响已发布的快照
+ * @param schedule 高亮区域索引
+ * @param palette 由数字颜色和高亮颜色预先编译的调色板
+ * @param hoveredSetting 鼠标悬停的高亮区域，没有时为 null
+ * @param toastMessage Toast 提示文字，没有时为 null
+ * @param toastEndTime Toast 消失时刻（System.currentTimeMillis）
+ * @param forcedDetailLevel 强制使用的细节层级，null 表示按像素尺寸自动选择
+ * @param handRenderMode 指针层绘制方式（描边、贴图或软件光栅化）
+ * @param geometryVersion 几何版本：高亮区域变化时递增，绘制线程据此清空圆环几何缓存
+ * @param staticVersion 静态图层内容版本：颜色、标签、区域变化时递增（缩放和悬停属于图层缓存键的其他部分）
+ */
+record RenderModel(float scale, Color clockColor, Color numberColor,
+                   Color hourHandColor, Color minuteHandColor, Color secondHandColor,
+                   boolean showLabels, HighlightSchedule schedule, ThemePalette palette, HighlightSetting hoveredSetting,
+                   String toastMessage, long toastEndTime, RenderScheduler.RenderPolicy renderPolicy,
+                   ClockRenderer.DetailLevel forcedDetailLevel, ClockRenderer.HandRenderMode handRenderMode,
+                   int geometryVersion, int staticVersion) {
+
+    /**
+     * 表盘边长（取偶数，保证圆心落在整像素上）
+     */
+    int clockSize() {
+        int currentSize = (int) (ClockRenderer.BASE_CLOCK_SIZE * scale);
+        return currentSize - currentSize % 2;
+    }
+
+    /**
+     * 只有缩放不同的快照（预渲染其他缩放档位用）
+     */
+    RenderModel withScale(float newScale) {
+        return new RenderModel(newScale, clockColor, numberColor, hourHandColor, minuteHandColor, secondHandColor,
+                showLabels, schedule, palette, hoveredSetting, toastMessage, toastEndTime, renderPolicy,
+                forcedDetailLevel, handRenderMode, geometryVersion, staticVersion);
+    }
+
+    /**
+     * 换成主题颜色、新的区域索引和调色板的快照（切换主题时在后台预渲染用）
+     */
+    RenderModel withTheme(Theme theme, HighlightSchedule newSchedule, ThemePalette newPalette, int newStaticVersion) {
+        return new RenderModel(scale, theme.clockColor(), theme.numberColor(), theme.hourHandColor(),
+                theme.minuteHandColor(), theme.secondHandColor(), showLabels, newSchedule, newPalette, hoveredSetting,
+                toastMessage, toastEndTime, renderPolicy, forcedDetailLevel, handRenderMode,
+                geometryVersion, newStaticVersion);
+    }
+
+    /**
+     * 指定时刻（System.currentTimeMillis）是否仍在显示 Toast
+     */
+    boolean isToastActive(long nowMillis) {
+        return toastMessage != null && nowMillis < toastEndTime;
+    }
+}
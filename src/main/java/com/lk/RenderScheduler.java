@@ -0,0 +1,161 @@
+package com.lk;
+
+import java.util.function.Consumer;
+
+/**
+ * 自适应渲染调度器，替代固定间隔的刷新定时器
+ * - SMOOTH：平滑秒针，最高 60fps
+ * - TICK：每个整秒绘制一帧，与系统时钟对齐
+ * - MINUTE：只绘制时针和分针，每个整分钟绘制一帧
+ * 窗口隐藏/最小化时自动切到 MINUTE，用户空闲时（由 ActivityTracker 通知）降为 TICK，恢复后回到首选策略
+ * 所有方法都应在 EDT 上调用
+ */
+class RenderScheduler {
+
+    public enum RenderPolicy { SMOOTH, TICK, MINUTE }
+
+    static final int SMOOTH_FRAME_INTERVAL = 1000 / 60; // 最高 60fps
+
+    private final RenderPolicy preferredPolicy;
+    private final Runnable frameTask;
+    private final Consumer<RenderPolicy> policyListener;
+    private final javax.swing.Timer timer;
+
+    private RenderPolicy policy;
+    private RenderPolicy forcedPolicy = null;
+    private boolean started = false;
+
+    // 窗口与用户状态
+    private boolean hidden = false;
+    private boolean iconified = false;
+    private boolean userIdle = false;
+
+    // 实际帧率统计（1 秒窗口）
+    private int framesInWindow = 0;
+    private long fpsWindowStart = System.nanoTime();
+    private volatile double achievedFps = 0;
+
+    /**
+     * @param preferredPolicy 窗口可见且用户活跃时使用的策略
+     * @param frameTask 每帧执行的任务（通常是请求重绘）
+     * @param policyListener 策略切换回调
+     */
+    public RenderScheduler(RenderPolicy preferredPolicy, Runnable frameTask, Consumer<RenderPolicy> policyListener) {
+        this.preferredPolicy = preferredPolicy;
+        this.policy = preferredPolicy;
+        this.frameTask = frameTask;
+        this.policyListener = policyListener;
+        this.timer = new javax.swing.Timer(SMOOTH_FRAME_INTERVAL, e -> onFrame());
+        this.timer.setRepeats(false);
+    }
+
+    public void start() {
+        started = true;
+        policyListener.accept(policy);
+        scheduleNext();
+    }
+
+    public void stop() {
+        started = false;
+        timer.stop();
+    }
+
+    public RenderPolicy getPolicy() { return policy; }
+
+    /**
+     * 最近 1 秒实际绘制的帧数
+     */
+    public double getAchievedFps() { return achievedFps; }
+
+    /**
+     * 强制使用指定策略（用于测试或基准测量），传入 null 恢复自动切换
+     */
+    public void setForcedPolicy(RenderPolicy forcedPolicy) {
+        this.forcedPolicy = forcedPolicy;
+        updatePolicy();
+    }
+
+    public void setHidden(boolean hidden) {
+        this.hidden = hidden;
+        updatePolicy();
+    }
+
+    public void setIconified(boolean iconified) {
+        this.iconified = iconified;
+        updatePolicy();
+    }
+
+    /**
+     * 用户进入或离开空闲状态（ActivityTracker 的监听者）
+     */
+    public void setUserIdle(boolean idle) {
+        if (idle != userIdle) {
+            userIdle = idle;
+            updatePolicy();
+        }
+    }
+
+    /**
+     * 每次实际完成绘制时调用，用于统计帧率
+     */
+    public void frameRendered() {
+        framesInWindow++;
+        long now = System.nanoTime();
+        long elapsed = now - fpsWindowStart;
+        if (elapsed >= 1_000_000_000L) {
+            achievedFps = framesInWindow * 1_000_000_000.0 / elapsed;
+            framesInWindow = 0;
+            fpsWindowStart = now;
+        }
+    }
+
+    private void updatePolicy() {
+        RenderPolicy newPolicy;
+        if (forcedPolicy != null) {
+            newPolicy = forcedPolicy;
+        } else if (hidden || iconified) {
+            newPolicy = RenderPolicy.MINUTE;
+        } else if (userIdle && preferredPolicy == RenderPolicy.SMOOTH) {
+            newPolicy = RenderPolicy.TICK;
+        } else {
+            newPolicy = preferredPolicy;
+        }
+
+        if (newPolicy != policy) {
+            policy = newPolicy;
+            policyListener.accept(policy);
+            // 立即绘制一帧并按新策略重新排期
+            if (started) {
+                timer.stop();
+                onFrame();
+            }
+        }
+    }
+
+    private void onFrame() {
+        if (!started) {
+            return;
+        }
+        if (!hidden && !iconified) {
+            frameTask.run();
+        }
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        long now = System.currentTimeMillis();
+        int delay;
+        switch (policy) {
+            case TICK:
+                delay = (int) (1000 - now % 1000) + 1;
+                break;
+            case MINUTE:
+                delay = (int) (60_000 - now % 60_000) + 1;
+                break;
+            default:
+                delay = SMOOTH_FRAME_INTERVAL;
+        }
+        timer.setInitialDelay(delay);
+        timer.restart();
+    }
+}
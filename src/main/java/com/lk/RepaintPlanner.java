@@ -0,0 +1,54 @@
+package com.lk;
+
+import java.awt.Rectangle;
+
+/**
+ * 重绘规划器：根据指针运动计算每帧需要重绘的脏区域
+ * 稳态下只重绘新旧指针包围盒的并集，配置、悬停变化或跨分钟时回退为全量重绘
+ * Toast 提示框由面板按自身区域单独重绘，不在这里处理
+ */
+class RepaintPlanner {
+
+    // 额外外扩像素：覆盖抗锯齿边缘以及计划到实际绘制之间秒针的微小位移
+    private static final int SAFETY_MARGIN = 2;
+
+    // 上一次计划重绘时的指针区域
+    private final Rectangle lastHandBounds = new Rectangle();
+    private boolean hasLastHandBounds = false;
+    // 每帧复用的脏区域
+    private final Rectangle dirty = new Rectangle();
+    // 是否需要一次全量重绘
+    private boolean fullRepaintPending = true;
+    // 上一次计划时的分钟（跨分钟时当前高亮区域可能切换，需要全量重绘）
+    private int lastMinuteOfDay = -1;
+
+    /**
+     * 请求下一帧全量重绘（配置或悬停变化时调用）
+     */
+    public void requestFullRepaint() {
+        fullRepaintPending = true;
+    }
+
+    /**
+     * 计算本帧的重绘区域
+     * @param handBounds 本帧指针（含阴影和中心点）的包围盒
+     * @param minuteOfDay 当前时间的一天内分钟数
+     * @return 需要重绘的区域（每次调用复用同一对象）；返回 null 表示需要全量重绘
+     */
+    public Rectangle plan(Rectangle handBounds, int minuteOfDay) {
+        dirty.setBounds(lastHandBounds);
+        boolean hasPrevious = hasLastHandBounds;
+        lastHandBounds.setBounds(handBounds);
+        hasLastHandBounds = true;
+
+        if (fullRepaintPending || !hasPrevious || minuteOfDay != lastMinuteOfDay) {
+            fullRepaintPending = false;
+            lastMinuteOfDay = minuteOfDay;
+            return null;
+        }
+
+        dirty.add(handBounds);
+        dirty.grow(SAFETY_MARGIN, SAFETY_MARGIN);
+        return dirty;
+    }
+}
@@ -0,0 +1,204 @@
+package com.lk;
+
+import com.lk.AnalogClock.HighlightSetting;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * 静态表盘图层缓存：按 (内容版本, 缩放, 细节层级, 动态区域, 设备配置) 缓存已绘制好的静态图层
+ * - 滚轮缩放的 16 档（0.5-2.0，步长 0.1）可在后台 ForkJoin 线程池预渲染，滚轮一格直接换上现成的图层
+ * - 悬停切换（动态区域变化）后回到原状态时同样命中
+ * - 按访问顺序 LRU 淘汰，图像总内存不超过上限
+ * 缓存中的图像绘制完成后不再修改，可被多个线程同时读取；所有方法线程安全
+ */
+final class ScaleLayerCache {
+
+    static final float MIN_SCALE = 0.5f;
+    static final float MAX_SCALE = 2.0f;
+    static final int SCALE_STEPS = 16;
+
+    // 默认内存上限：16 档全部缓存约 4.5MB（每像素 4 字节），留出悬停状态的余量
+    static final long DEFAULT_CAPACITY_BYTES = 16L << 20;
+
+    // 预渲染线程池：工作线程为守护线程，只占用一半的处理器
+    private static final ForkJoinPool PRERENDER_POOL =
+            new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    /**
+     * 缓存键：静态图层的全部输入
+     * @param staticVersion 渲染模型的静态图层版本（颜色、标签、区域）
+     * @param dynamicAreas 不画进静态图层的区域（当前时间所在区域和悬停区域），不可变拷贝
+     * @param gc 图像的目标设备配置，离屏绘制时为 null
+     */
+    record Key(int staticVersion, float scale, ClockRenderer.DetailLevel detail,
+               List<HighlightSetting> dynamicAreas, GraphicsConfiguration gc) {
+
+        /**
+         * 不创建新键直接比较（每帧调用）
+         */
+        boolean matches(int staticVersion, float scale, ClockRenderer.DetailLevel detail,
+                        List<HighlightSetting> dynamicAreas, GraphicsConfiguration gc) {
+            return this.staticVersion == staticVersion && this.scale == scale && this.detail == detail
+                    && this.gc == gc && sameAreas(this.dynamicAreas, dynamicAreas);
+        }
+
+        /**
+         * 按下标逐个比较（不可变列表的 equals 会创建迭代器）
+         */
+        private static boolean sameAreas(List<HighlightSetting> a, List<HighlightSetting> b) {
+            int size = a.size();
+            if (size != b.size()) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!a.get(i).equals(b.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 缓存统计
+     * @param bytes 当前缓存图像占用的内存（字节）
+     */
+    record Stats(long hits, long misses, long bytes, int layers) {
+
+        double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("图层缓存: %d 层, %.1f MB, 命中率 %.1f%% (%d/%d)",
+                    layers, bytes / (1024.0 * 1024.0), hitRate() * 100, hits, hits + misses);
+        }
+    }
+
+    private final LinkedHashMap<Key, BufferedImage> layers = new LinkedHashMap<>(32, 0.75f, true);
+    // 已提交但还没完成的预渲染任务，避免重复提交
+    private final Set<Key> pending = new HashSet<>();
+    private long capacityBytes = DEFAULT_CAPACITY_BYTES;
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * 后台绘制用的线程池（切换主题时也在这里重建缓存）
+     */
+    static Executor executor() {
+        return PRERENDER_POOL;
+    }
+
+    /**
+     * 滚轮缩放的第 step 档（0 到 SCALE_STEPS - 1）
+     */
+    static float bucketScale(int step) {
+        return (5 + step) / 10f;
+    }
+
+    /**
+     * 把缩放限制在 0.5-2.0 并取到最近的 0.1 档，保证滚轮缩放总是落在预渲染的档位上（不累积浮点误差）
+     */
+    static float snapScale(float scale) {
+        float clamped = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+        return Math.round(clamped * 10) / 10f;
+    }
+
+    /**
+     * 查找图层，计入命中率
+     * @return 缓存的图层，没有时返回 null
+     */
+    synchronized BufferedImage get(Key key) {
+        BufferedImage image = layers.get(key);
+        if (image != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return image;
+    }
+
+    /**
+     * 放入图层，超出内存上限时淘汰最久未使用的图层；单张超过上限的图层不缓存
+     */
+    synchronized void put(Key key, BufferedImage image) {
+        long size = sizeOf(image);
+        if (size > capacityBytes) {
+            return;
+        }
+        BufferedImage previous = layers.put(key, image);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+        evictToCapacity();
+    }
+
+    /**
+     * 在后台线程池中绘制尚未缓存的图层（已缓存或正在绘制的跳过）
+     * @param renderer 绘制指定键的图层，在线程池中调用，不能访问绘制线程的状态
+     */
+    void prerender(List<Key> keys, Function<Key, BufferedImage> renderer) {
+        for (Key key : keys) {
+            if (!claim(key)) {
+                continue;
+            }
+            PRERENDER_POOL.execute(() -> {
+                try {
+                    put(key, renderer.apply(key));
+                } finally {
+                    release(key);
+                }
+            });
+        }
+    }
+
+    synchronized long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * 设置内存上限，传 0 关闭缓存（每次都重新绘制，基准测试对比用）
+     */
+    synchronized void setCapacityBytes(long capacityBytes) {
+        this.capacityBytes = Math.max(0, capacityBytes);
+        evictToCapacity();
+    }
+
+    synchronized Stats stats() {
+        return new Stats(hits, misses, bytes, layers.size());
+    }
+
+    private synchronized boolean claim(Key key) {
+        return capacityBytes > 0 && !layers.containsKey(key) && pending.add(key);
+    }
+
+    private synchronized void release(Key key) {
+        pending.remove(key);
+    }
+
+    private void evictToCapacity() {
+        Iterator<Map.Entry<Key, BufferedImage>> it = layers.entrySet().iterator();
+        while (bytes > capacityBytes && it.hasNext()) {
+            bytes -= sizeOf(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+}
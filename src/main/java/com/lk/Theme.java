@@ -0,0 +1,40 @@
+package com.lk;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * 表盘主题：基础颜色和高亮圆环风格，派生颜色由 ThemePalette 预先编译
+ * @param defaultHighlightColor 新建高亮区域的默认颜色（已有区域的颜色不变）
+ * @param gradientRings 高亮圆环沿弧线使用锥形渐变，否则为纯色
+ */
+record Theme(String name, Color clockColor, Color numberColor, Color hourHandColor, Color minuteHandColor,
+             Color secondHandColor, Color defaultHighlightColor, boolean gradientRings) {
+
+    // 预设主题
+    static final List<Theme> PRESETS = List.of(
+            new Theme("深色经典", new Color(50, 50, 50), Color.WHITE, Color.WHITE, Color.LIGHT_GRAY, Color.RED,
+                    new Color(0xDD, 0x77, 0x0, 80), false),
+            new Theme("浅色简约", new Color(240, 240, 235), new Color(60, 60, 60), new Color(40, 40, 40),
+                    new Color(80, 80, 80), new Color(200, 50, 50), new Color(100, 150, 200, 100), false),
+            new Theme("护眼绿", new Color(40, 55, 45), new Color(200, 230, 200), new Color(180, 210, 180),
+                    new Color(150, 180, 150), new Color(100, 200, 100), new Color(80, 150, 80, 100), false),
+            new Theme("暗夜蓝", new Color(25, 35, 55), new Color(180, 200, 230), new Color(150, 180, 220),
+                    new Color(120, 150, 190), new Color(100, 180, 255), new Color(70, 130, 200, 100), false),
+            new Theme("暖橙色", new Color(55, 40, 35), new Color(255, 220, 180), new Color(255, 200, 150),
+                    new Color(220, 180, 140), new Color(255, 140, 60), new Color(255, 150, 80, 100), false),
+            new Theme("霓虹渐变", new Color(20, 20, 28), new Color(230, 230, 245), new Color(240, 240, 255),
+                    new Color(200, 200, 225), new Color(255, 60, 120), new Color(0x33, 0x99, 0xFF), true));
+
+    /**
+     * 按名称查找预设主题，没有时返回 null
+     */
+    static Theme find(String name) {
+        for (Theme theme : PRESETS) {
+            if (theme.name().equals(name)) {
+                return theme;
+            }
+        }
+        return null;
+    }
+}
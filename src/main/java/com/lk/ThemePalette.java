@@ -0,0 +1,117 @@
+package com.lk;
+
+import java.awt.Color;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 主题调色板：由基础颜色预先编译出的全部派生颜色
+ * - 刻度、数字的半透明色（取自数字颜色）
+ * - 每种高亮颜色的加亮色、各细节层级的发光层颜色、锥形渐变的终点色
+ * 颜色或高亮区域变化时编译一次（切换主题时在后台线程编译），随渲染模型发布；构造后只读，绘制时只查表
+ */
+final class ThemePalette {
+
+    // 锥形渐变终点向白色混合的比例
+    private static final float GRADIENT_WHITE_MIX = 0.45f;
+
+    /**
+     * 一种高亮颜色的派生颜色
+     * @param bright 当前时间所在区域的加亮色
+     * @param gradientEnd 锥形渐变的终点色（起点为 base）
+     * @param brightGradientEnd 加亮时锥形渐变的终点色（起点为 bright）
+     * @param glowColors 按细节层级（ordinal）索引的发光层颜色，第 layer 层（1 为最内层）为 glowColors[level][layer]
+     */
+    record RingColors(Color base, Color bright, Color gradientEnd, Color brightGradientEnd, Color[][] glowColors) {
+
+        static RingColors of(Color base) {
+            Color bright = brighten(base, 1.2f);
+            ClockRenderer.DetailLevel[] levels = ClockRenderer.DetailLevel.values();
+            Color[][] glowColors = new Color[levels.length][];
+            for (ClockRenderer.DetailLevel level : levels) {
+                int glowLayers = level.glowLayers;
+                Color[] colors = new Color[glowLayers + 1];
+                for (int layer = 1; layer <= glowLayers; layer++) {
+                    // 透明度从外层到内层递增：外层最淡，内层较浓
+                    int alpha = 15 + (glowLayers - layer) * 40 / glowLayers;
+                    colors[layer] = new Color(base.getRed(), base.getGreen(), base.getBlue(), alpha);
+                }
+                glowColors[level.ordinal()] = colors;
+            }
+            return new RingColors(base, bright, mixWhite(base), mixWhite(bright), glowColors);
+        }
+    }
+
+    final Color numberColor;
+    final Color hourMarkColor;
+    final Color minuteMarkColor;
+    final Color numberColorSoft;
+    final boolean gradientRings;
+    // 按区域颜色对象查表：绘制时传入的就是编译时索引中的同一个对象，按引用查找不装箱
+    private final Map<Color, RingColors> ringColors;
+
+    private ThemePalette(Color numberColor, boolean gradientRings, Map<Color, RingColors> ringColors) {
+        this.numberColor = numberColor;
+        this.hourMarkColor = withAlpha(numberColor, 200);
+        this.minuteMarkColor = withAlpha(numberColor, 80);
+        this.numberColorSoft = withAlpha(numberColor, 220);
+        this.gradientRings = gradientRings;
+        this.ringColors = ringColors;
+    }
+
+    /**
+     * 编译调色板：为区域索引中出现的每种高亮颜色预先计算派生颜色
+     */
+    static ThemePalette compile(Color numberColor, HighlightSchedule schedule, boolean gradientRings) {
+        // 相同颜色值的区域共用一份派生颜色
+        Map<Integer, RingColors> byArgb = new HashMap<>();
+        Map<Color, RingColors> ringColors = new IdentityHashMap<>();
+        for (int i = 0; i < schedule.size(); i++) {
+            Color base = schedule.get(i).highlightColor();
+            ringColors.put(base, byArgb.computeIfAbsent(base.getRGB(), argb -> RingColors.of(base)));
+        }
+        return new ThemePalette(numberColor, gradientRings, ringColors);
+    }
+
+    /**
+     * 高亮颜色的派生颜色；不是编译时索引中的颜色对象（不应发生）时当场计算，不写回
+     */
+    RingColors ringColors(Color base) {
+        RingColors colors = ringColors.get(base);
+        return colors != null ? colors : RingColors.of(base);
+    }
+
+    /**
+     * 增亮颜色（用于渐变和发光效果）
+     */
+    static Color brighten(Color color, float factor) {
+        int r = color.getRed();
+        int g = color.getGreen();
+        int b = color.getBlue();
+        int alpha = color.getAlpha();
+
+        // 增亮RGB值，但不超过255
+        r = Math.min(255, (int) (r * factor));
+        g = Math.min(255, (int) (g * factor));
+        b = Math.min(255, (int) (b * factor));
+
+        return new Color(r, g, b, alpha);
+    }
+
+    /**
+     * 向白色混合（深色也能提亮，透明度不变）
+     */
+    private static Color mixWhite(Color color) {
+        float k = GRADIENT_WHITE_MIX;
+        return new Color(
+                Math.round(color.getRed() + (255 - color.getRed()) * k),
+                Math.round(color.getGreen() + (255 - color.getGreen()) * k),
+                Math.round(color.getBlue() + (255 - color.getBlue()) * k),
+                color.getAlpha());
+    }
+
+    private static Color withAlpha(Color color, int alpha) {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+    }
+}
@@ -4,125 +4,344 @@ import javax.sound.sampled.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 时间范围监控器，负责检测进入/退出高亮区域并触发相应动作
+ * 检测时刻由 TriggerScheduler 事件驱动安排，不再每秒轮询全部区域
+ * 按 actor 方式组织：区域索引、进出状态、间隔计时和正在显示的弹窗只由执行器线程持有和修改；
+ * 其他线程（设置对话框替换区域、EDT 关闭弹窗、界面采样发现用户恢复活跃）只向无锁邮箱投递命令，
+ * 由执行器线程按投递顺序依次处理，不会与到点检测交错
  */
 public class TimeRangeMonitor {
     
-    private Map<String, Boolean> rangeStates = new HashMap<>();
-    private Map<String, Long> lastIntervalTriggerTime = new HashMap<>();
-    private List<AnalogClock.HighlightSetting> highlightAreas;
+    /**
+     * 投递给监控器的命令
+     */
+    private sealed interface Command permits UpdateSchedule, Dismissed, Wake {}
+    
+    /**
+     * 替换区域索引（按区域 id 沿用原有区域的进出状态，只初始化新区域）
+     */
+    private record UpdateSchedule(HighlightSchedule schedule) implements Command {}
+    
+    /**
+     * 弹窗已关闭，同一提醒可以再次显示
+     */
+    private record Dismissed(int notification) implements Command {}
+    
+    /**
+     * 立即检测一次并重建全部时刻
+     */
+    private record Wake() implements Command {}
+    
+    private static final Wake WAKE = new Wake();
+    
+    // 触发类型：弹窗标识为 区域 id * TRIGGER_TYPES + 类型
+    private static final int TRIGGER_ENTER = 0;
+    private static final int TRIGGER_EXIT = 1;
+    private static final int TRIGGER_INTERVAL = 2;
+    private static final int TRIGGER_TYPES = 3;
+    // 预览弹窗没有标识，不参与防重复
+    private static final int NO_NOTIFICATION = -1;
+    
+    // ---- 以下状态只在执行器线程中访问 ----
+    // 高亮区域索引（不可变，整体替换）
+    private HighlightSchedule schedule;
+    // 按区域在索引中的原始顺序存放的进出状态和上次间隔提醒时刻，替换索引时按区域 id 搬到新位置
+    private boolean[] inRange = new boolean[0];
+    private long[] lastIntervalTrigger = new long[0];
+    // 防重复弹窗：正在显示的弹窗（按弹窗标识），按区域 id 索引，替换区域索引后仍然有效
+    private final BitSet activeNotifications = new BitSet();
+    
+    // 邮箱：多个线程投递，执行器线程单独消费
+    private final ConcurrentLinkedQueue<Command> mailbox = new ConcurrentLinkedQueue<>();
+    // 已提交但还没开始处理邮箱的任务，保证同一时刻最多一个
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    
+    // 锁屏检测：最近一次用户操作的时刻
+    private final ActivityTracker activity;
+    
+    // 触发检测和提示音共用的单线程执行器：线程只创建一次，随托盘“退出”关闭
+    private final AtomicLong threadsCreated = new AtomicLong();
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+        threadsCreated.incrementAndGet();
+        Thread t = new Thread(r, "clock-trigger");
+        t.setDaemon(true);
+        return t;
+    });
+    private final TriggerScheduler scheduler = new TriggerScheduler(this, executor);
+    
+    /**
+     * 执行器统计（确认没有反复创建线程）
+     * @param queuedTasks 排队中的任务，包括安排好的下一次检测（正常为 1）
+     * @param pendingCommands 邮箱中还没处理的命令
+     */
+    record Stats(long threadsCreated, int queuedTasks, long completedTasks, int pendingCommands) {
+        
+        @Override
+        public String toString() {
+            return String.format("触发执行器: 创建线程 %d 个, 排队 %d, 已完成 %d, 待处理命令 %d",
+                    threadsCreated, queuedTasks, completedTasks, pendingCommands);
+        }
+    }
+    
+    /**
+     * @param activity 用户活动来源，用户不活跃时暂不提醒
+     */
+    TimeRangeMonitor(HighlightSchedule schedule, ActivityTracker activity) {
+        this.schedule = schedule;
+        this.activity = activity;
+        initializeStates(LocalTime.now(), System.currentTimeMillis());
+        // 取消的检测立即移出队列，排队数反映真实积压；关闭时丢弃还没到点的检测
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+    
+    /**
+     * 启动触发调度：只在下一次进入/退出/间隔提醒的时刻醒来
+     */
+    public void start() {
+        scheduler.start();
+    }
     
-    // 防重复弹窗：记录当前正在显示的弹窗（按高亮区域key + 触发类型）
-    private Set<String> activeNotifications = new HashSet<>();
+    /**
+     * 停止调度并关闭执行器（托盘“退出”时调用）：等待正在播放的提示音结束，最多等 500ms
+     */
+    public void shutdown() {
+        scheduler.stop();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(500, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
     
-    // 锁屏检测：上次检测到用户活动的时间
-    private long lastUserActivityTime = System.currentTimeMillis();
-    private Point lastMousePosition = MouseInfo.getPointerInfo().getLocation();
+    /**
+     * 触发调度（供基准测试不启动执行器直接推进）
+     */
+    TriggerScheduler getScheduler() {
+        return scheduler;
+    }
     
-    public TimeRangeMonitor(List<AnalogClock.HighlightSetting> highlightAreas) {
-        this.highlightAreas = highlightAreas;
-        initializeStates();
+    Stats getStats() {
+        return new Stats(threadsCreated.get(), executor.getQueue().size(), executor.getCompletedTaskCount(),
+                mailbox.size());
     }
     
-    private void initializeStates() {
-        LocalTime now = LocalTime.now();
+    /**
+     * 按当前索引重建全部区域的进出状态（构造时和替换索引时调用，已在区域内的不补发进入提醒）
+     */
+    void initializeStates(LocalTime now, long currentTimeMillis) {
         int currentMinutes = now.getHour() * 60 + now.getMinute();
+        HighlightSchedule schedule = this.schedule;
+        inRange = new boolean[schedule.size()];
+        lastIntervalTrigger = new long[schedule.size()];
         
-        for (AnalogClock.HighlightSetting setting : highlightAreas) {
-            String key = getSettingKey(setting);
-            int startMinutes = setting.getStartHour() * 60 + setting.getStartMinute();
-            int endMinutes = setting.getEndHour() * 60 + setting.getEndMinute();
-            
-            boolean inRange = isTimeInRange(currentMinutes, startMinutes, endMinutes);
-            rangeStates.put(key, inRange);
+        for (int i = 0; i < schedule.size(); i++) {
+            inRange[i] = schedule.get(i).contains(currentMinutes);
             
             // 初始化时，如果在范围内，设置最后触发时间为当前时间，避免立即触发间隔
-            if (inRange) {
-                lastIntervalTriggerTime.put(key, System.currentTimeMillis());
+            if (inRange[i]) {
+                lastIntervalTrigger[i] = currentTimeMillis;
             }
         }
     }
     
-    public void checkAndTrigger() {
-        // 检测用户是否活跃（通过鼠标位置变化判断）
-        if (!isUserActive()) {
-            return; // 用户不活跃（可能锁屏或离开），跳过提醒
+    /**
+     * 换上新索引：仍然存在的区域（id 相同，时间和触发器不会变化）沿用进出状态和间隔计时，
+     * 已进入但还没检测到的区域照常补发进入提醒；只有新区域按当前时刻初始化（已在区域内的不补发进入提醒）
+     */
+    void replaceSchedule(HighlightSchedule next, LocalTime now, long currentTimeMillis) {
+        HighlightSchedule previous = schedule;
+        Map<Integer, Integer> previousIndex = new HashMap<>();
+        for (int i = 0; i < previous.size(); i++) {
+            previousIndex.put(previous.get(i).setting().getId(), i);
         }
-        
-        LocalTime now = LocalTime.now();
+        boolean[] previousInRange = inRange;
+        long[] previousIntervalTrigger = lastIntervalTrigger;
+
+        int currentMinutes = now.getHour() * 60 + now.getMinute();
+        schedule = next;
+        inRange = new boolean[next.size()];
+        lastIntervalTrigger = new long[next.size()];
+        for (int i = 0; i < next.size(); i++) {
+            HighlightSchedule.Entry entry = next.get(i);
+            Integer old = previousIndex.get(entry.setting().getId());
+            if (old != null) {
+                inRange[i] = previousInRange[old];
+                lastIntervalTrigger[i] = previousIntervalTrigger[old];
+            } else {
+                inRange[i] = entry.contains(currentMinutes);
+                if (inRange[i]) {
+                    lastIntervalTrigger[i] = currentTimeMillis;
+                }
+            }
+        }
+    }
+
+    HighlightSchedule getSchedule() {
+        return schedule;
+    }
+    
+    /**
+     * 按指定时刻检测全部区域的进出并触发动作（不做用户活跃检测，供基准测试直接调用）
+     */
+    void checkAndTrigger(LocalTime now, long currentTimeMillis) {
         int currentMinutes = now.getHour() * 60 + now.getMinute();
-        long currentTimeMillis = System.currentTimeMillis();
+        HighlightSchedule schedule = this.schedule;
         
-        for (AnalogClock.HighlightSetting setting : highlightAreas) {
-            String key = getSettingKey(setting);
-            int startMinutes = setting.getStartHour() * 60 + setting.getStartMinute();
-            int endMinutes = setting.getEndHour() * 60 + setting.getEndMinute();
-            
-            boolean wasInRange = rangeStates.getOrDefault(key, false);
-            boolean isInRange = isTimeInRange(currentMinutes, startMinutes, endMinutes);
-            
-            // 状态变化：进入区域
-            if (!wasInRange && isInRange) {
-                triggerAction(setting, setting.getEnter(), "enter");
-                rangeStates.put(key, true);
-                // 进入时重置间隔触发计时
-                lastIntervalTriggerTime.put(key, currentTimeMillis);
+        for (int i = 0; i < schedule.size(); i++) {
+            checkEntry(i, currentMinutes, currentTimeMillis);
+        }
+    }
+    
+    /**
+     * 检测单个区域的进出和间隔提醒
+     * @param index 区域在索引中的原始顺序
+     * @param currentMinutes 当前时刻（24 小时制总分钟数）
+     */
+    void checkEntry(int index, int currentMinutes, long currentTimeMillis) {
+        HighlightSchedule.Entry entry = schedule.get(index);
+        
+        boolean wasInRange = inRange[index];
+        boolean isInRange = entry.contains(currentMinutes);
+        
+        // 状态变化：进入区域
+        if (!wasInRange && isInRange) {
+            triggerAction(entry, entry.enter(), TRIGGER_ENTER);
+            inRange[index] = true;
+            // 进入时重置间隔触发计时
+            lastIntervalTrigger[index] = currentTimeMillis;
+        }
+        // 状态变化：退出区域
+        else if (wasInRange && !isInRange) {
+            triggerAction(entry, entry.exit(), TRIGGER_EXIT);
+            inRange[index] = false;
+            lastIntervalTrigger[index] = 0;
+        }
+        // 持续在区域内：检查间隔触发
+        else if (isInRange) {
+            long intervalMillis = intervalMillis(entry);
+            if (intervalMillis > 0 && currentTimeMillis - lastIntervalTrigger[index] >= intervalMillis) {
+                triggerAction(entry, entry.interval(), TRIGGER_INTERVAL);
+                lastIntervalTrigger[index] = currentTimeMillis;
             }
-            // 状态变化：退出区域
-            else if (wasInRange && !isInRange) {
-                triggerAction(setting, setting.getExit(), "exit");
-                rangeStates.put(key, false);
-                lastIntervalTriggerTime.remove(key);
+        }
+    }
+    
+    /**
+     * 区域下一次需要检测的时刻（epoch 毫秒）
+     * - 记录的状态与当前时刻不符（刚恢复活跃、区域刚变化）时立即到期
+     * - 在区域内时取退出时刻和下一次间隔提醒中较早者，否则取下一次进入时刻
+     * 开始时间等于结束时间的区域永远不会进入，返回 Long.MAX_VALUE
+     */
+    long nextDeadline(int index, ZonedDateTime now) {
+        HighlightSchedule.Entry entry = schedule.get(index);
+        if (entry.startMinute() == entry.endMinute()) {
+            return Long.MAX_VALUE;
+        }
+        boolean wasInRange = inRange[index];
+        long nowMillis = now.toInstant().toEpochMilli();
+        if (wasInRange != entry.contains(now.getHour() * 60 + now.getMinute())) {
+            return nowMillis;
+        }
+        if (!wasInRange) {
+            return nextOccurrence(now, entry.startMinute());
+        }
+        long deadline = nextOccurrence(now, entry.endMinute());
+        long intervalMillis = intervalMillis(entry);
+        if (intervalMillis > 0) {
+            deadline = Math.min(deadline, lastIntervalTrigger[index] + intervalMillis);
+        }
+        return deadline;
+    }
+    
+    /**
+     * 当前时刻之后墙上时钟第一次到达指定时刻（24 小时制总分钟数）的 epoch 毫秒
+     * - 夏令时跳过的时刻：墙上时钟在跳变的瞬间越过它
+     * - 夏令时重复的时刻：两次都算（与逐秒检测墙上时钟的结果一致）
+     */
+    private static long nextOccurrence(ZonedDateTime now, int minuteOfDay) {
+        ZoneId zone = now.getZone();
+        LocalTime time = LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+        for (int day = 0; day <= 2; day++) {
+            LocalDateTime local = now.toLocalDate().plusDays(day).atTime(time);
+            ZoneOffsetTransition transition = zone.getRules().getTransition(local);
+            if (transition != null && transition.isGap()) {
+                if (transition.getInstant().isAfter(now.toInstant())) {
+                    return transition.getInstant().toEpochMilli();
+                }
+                continue;
             }
-            // 持续在区域内：检查间隔触发
-            else if (isInRange) {
-                ClockConfig.TriggerConfig intervalConfig = setting.getInterval();
-                if (intervalConfig != null && intervalConfig.intervalMinutes > 0 && !"none".equals(intervalConfig.action)) {
-                    long lastTrigger = lastIntervalTriggerTime.getOrDefault(key, 0L);
-                    long intervalMillis = intervalConfig.intervalMinutes * 60 * 1000L;
-                    
-                    if (currentTimeMillis - lastTrigger >= intervalMillis) {
-                        triggerAction(setting, intervalConfig, "interval");
-                        lastIntervalTriggerTime.put(key, currentTimeMillis);
-                    }
+            ZonedDateTime candidate = local.atZone(zone);
+            if (candidate.isAfter(now)) {
+                return candidate.toInstant().toEpochMilli();
+            }
+            if (transition != null) {
+                candidate = candidate.withLaterOffsetAtOverlap();
+                if (candidate.isAfter(now)) {
+                    return candidate.toInstant().toEpochMilli();
                 }
             }
         }
+        // 不会到达这里：两天之内一定会再次到达任一时刻
+        return Long.MAX_VALUE;
     }
     
-    private void triggerAction(AnalogClock.HighlightSetting setting, ClockConfig.TriggerConfig config, String triggerType) {
+    /**
+     * 间隔提醒的周期（毫秒），未启用时返回 0
+     */
+    private static long intervalMillis(HighlightSchedule.Entry entry) {
+        ClockConfig.TriggerConfig intervalConfig = entry.interval();
+        if (intervalConfig != null && intervalConfig.intervalMinutes > 0 && !"none".equals(intervalConfig.action)) {
+            return intervalConfig.intervalMinutes * 60 * 1000L;
+        }
+        return 0;
+    }
+    
+    private void triggerAction(HighlightSchedule.Entry entry, ClockConfig.TriggerConfig config, int triggerType) {
         if (config == null || config.action == null || "none".equals(config.action)) {
             return;
         }
         
-        // 防重复弹窗：生成唯一标识
-        String notificationKey = getSettingKey(setting) + "_" + triggerType;
+        // 防重复弹窗：区域 id 和触发类型组成的标识
+        int notification = entry.setting().getId() * TRIGGER_TYPES + triggerType;
         
         // 如果该提醒已经在显示中，跳过
-        if (activeNotifications.contains(notificationKey)) {
+        if (activeNotifications.get(notification)) {
             return;
         }
         
         String message = config.text;
         if (message == null || message.trim().isEmpty()) {
             // 如果没有自定义文案，使用默认文案
-            String label = setting.getLabel().isEmpty() ? "时间段" : setting.getLabel();
+            String label = entry.label().isEmpty() ? "时间段" : entry.label();
             switch (triggerType) {
-                case "enter":
+                case TRIGGER_ENTER:
                     message = "进入" + label;
                     break;
-                case "exit":
+                case TRIGGER_EXIT:
                     message = "退出" + label;
                     break;
-                case "interval":
+                case TRIGGER_INTERVAL:
                     message = label + "提醒";
                     break;
                 default:
@@ -137,10 +356,10 @@ public class TimeRangeMonitor {
         
         switch (config.action) {
             case "dialog":
-                showDialogNotification(message, setting.getHighlightColor(), setting.getLabelColor(), notificationKey);
+                showDialogNotification(message, entry.highlightColor(), entry.labelColor(), notification);
                 break;
             case "fullscreen":
-                showFullscreenNotification(message, setting.getHighlightColor(), setting.getLabelColor(), notificationKey);
+                showFullscreenNotification(message, entry.highlightColor(), entry.labelColor(), notification);
                 break;
             case "lock":
                 lockScreen();
@@ -152,7 +371,8 @@ public class TimeRangeMonitor {
      * 播放提示音
      */
     private void playNotificationSound() {
-        new Thread(() -> {
+        // 在触发执行器上播放：多个提示音依次播放，不为每次播放创建线程
+        submit(() -> {
             try {
                 // 生成简单的提示音（双音调）
                 float sampleRate = 8000;
@@ -180,7 +400,15 @@ public class TimeRangeMonitor {
                 // 如果无法播放自定义音频，使用系统蜂鸣
                 Toolkit.getDefaultToolkit().beep();
             }
-        }).start();
+        });
+    }
+    
+    private void submit(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 执行器已关闭（程序退出中）
+        }
     }
     
     private byte[] generateTone(int freq, int durationMs, float sampleRate) {
@@ -193,10 +421,10 @@ public class TimeRangeMonitor {
         return buf;
     }
     
-    private void showDialogNotification(String message, Color bgColor, Color textColor, String notificationKey) {
+    private void showDialogNotification(String message, Color bgColor, Color textColor, int notification) {
         // 标记该提醒正在显示
-        if (notificationKey != null) {
-            activeNotifications.add(notificationKey);
+        if (notification != NO_NOTIFICATION) {
+            activeNotifications.set(notification);
         }
         
         SwingUtilities.invokeLater(() -> {
@@ -211,8 +439,8 @@ public class TimeRangeMonitor {
             dialog.addWindowListener(new WindowAdapter() {
                 @Override
                 public void windowClosed(WindowEvent e) {
-                    if (notificationKey != null) {
-                        activeNotifications.remove(notificationKey);
+                    if (notification != NO_NOTIFICATION) {
+                        send(new Dismissed(notification));
                     }
                 }
             });
@@ -251,10 +479,10 @@ public class TimeRangeMonitor {
         });
     }
     
-    private void showFullscreenNotification(String message, Color bgColor, Color textColor, String notificationKey) {
+    private void showFullscreenNotification(String message, Color bgColor, Color textColor, int notification) {
         // 标记该提醒正在显示
-        if (notificationKey != null) {
-            activeNotifications.add(notificationKey);
+        if (notification != NO_NOTIFICATION) {
+            activeNotifications.set(notification);
         }
         
         SwingUtilities.invokeLater(() -> {
@@ -269,8 +497,8 @@ public class TimeRangeMonitor {
             dialog.addWindowListener(new WindowAdapter() {
                 @Override
                 public void windowClosed(WindowEvent e) {
-                    if (notificationKey != null) {
-                        activeNotifications.remove(notificationKey);
+                    if (notification != NO_NOTIFICATION) {
+                        send(new Dismissed(notification));
                     }
                 }
             });
@@ -338,56 +566,75 @@ public class TimeRangeMonitor {
         }
     }
     
-    private boolean isTimeInRange(int currentMinutes, int startMinutes, int endMinutes) {
-        if (startMinutes <= endMinutes) {
-            return currentMinutes >= startMinutes && currentMinutes < endMinutes;
-        } else {
-            return currentMinutes >= startMinutes || currentMinutes < endMinutes;
+    /**
+     * 替换区域索引：进出状态由执行器线程按新索引重置，并重新计算全部时刻
+     */
+    public void updateSchedule(HighlightSchedule newSchedule) {
+        send(new UpdateSchedule(newSchedule));
+    }
+    
+    /**
+     * 投递命令（任意线程），邮箱从空变为非空时提交一次处理任务
+     */
+    private void send(Command command) {
+        mailbox.offer(command);
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainMailbox);
+            } catch (RejectedExecutionException e) {
+                // 执行器已关闭（程序退出中），命令丢弃
+                mailbox.clear();
+                drainScheduled.set(false);
+            }
         }
     }
     
-    private String getSettingKey(AnalogClock.HighlightSetting setting) {
-        return String.format("%02d:%02d-%02d:%02d", 
-            setting.getStartHour(), setting.getStartMinute(),
-            setting.getEndHour(), setting.getEndMinute());
+    /**
+     * 在执行器线程中依次处理邮箱里的命令，处理完后检测一次并重新安排下一个时刻
+     */
+    private void drainMailbox() {
+        // 先清除标记再取命令：之后投递的命令会提交新的处理任务，不会丢失
+        drainScheduled.set(false);
+        boolean reschedule = false;
+        Command command;
+        while ((command = mailbox.poll()) != null) {
+            if (command instanceof UpdateSchedule update) {
+                // 换上新索引时按区域 id 搬移进出状态，调度器发现索引变化后重建全部时刻
+                replaceSchedule(update.schedule(), LocalTime.now(), System.currentTimeMillis());
+                reschedule = true;
+            } else if (command instanceof Dismissed dismissed) {
+                activeNotifications.clear(dismissed.notification());
+            } else if (command instanceof Wake) {
+                scheduler.requestRebuild();
+                reschedule = true;
+            }
+        }
+        if (reschedule) {
+            scheduler.tick();
+        }
     }
     
-    public void updateHighlightAreas(List<AnalogClock.HighlightSetting> newAreas) {
-        this.highlightAreas = newAreas;
-        initializeStates();
+    /**
+     * 用户从空闲恢复（ActivityTracker 的监听者）：立即检测，补发离开期间的提醒
+     */
+    void userResumed() {
+        send(WAKE);
     }
     
     /**
-     * 检测用户是否活跃（通过鼠标位置变化判断）
-     * 如果鼠标位置在5分钟内没有变化，认为用户不活跃（可能锁屏或离开）
+     * 用户是否活跃：5 分钟内有键盘、鼠标或滚轮操作（可能锁屏或离开时不提醒），执行器线程到点检测时调用
      */
-    private boolean isUserActive() {
-        try {
-            Point currentMousePosition = MouseInfo.getPointerInfo().getLocation();
-            long currentTime = System.currentTimeMillis();
-            
-            // 如果鼠标位置发生变化，更新最后活动时间
-            if (!currentMousePosition.equals(lastMousePosition)) {
-                lastMousePosition = currentMousePosition;
-                lastUserActivityTime = currentTime;
-            }
-            
-            // 如果超过5分钟没有鼠标移动，认为用户不活跃
-            long inactiveThreshold = 5 * 60 * 1000; // 5分钟
-            return (currentTime - lastUserActivityTime) < inactiveThreshold;
-        } catch (Exception e) {
-            // 如果无法获取鼠标位置，默认认为用户活跃
-            return true;
-        }
+    boolean isUserActive() {
+        return activity.isActive();
     }
 
     // 预览方法（供外部调用）- 预览不受防重复限制
     public void previewDialogNotification(String message, Color bgColor, Color textColor) {
-        showDialogNotification(message, bgColor, textColor, null);
+        showDialogNotification(message, bgColor, textColor, NO_NOTIFICATION);
     }
 
     public void previewFullscreenNotification(String message, Color bgColor, Color textColor) {
-        showFullscreenNotification(message, bgColor, textColor, null);
+        showFullscreenNotification(message, bgColor, textColor, NO_NOTIFICATION);
     }
 
     public void previewLockScreen() {
@@ -0,0 +1,211 @@
+package com.lk;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件驱动的触发调度，替代每秒一次遍历全部区域的轮询
+ * - 每个区域只保留下一次需要检测的时刻（进入、退出或间隔提醒中最早的一个），按时刻排成小顶堆
+ * - 在监控器的单线程执行器上按堆顶时刻安排下一次检测，到点只处理到期的区域，再把这些区域的下一个时刻放回堆中
+ * - 高亮区域变化、用户离开后恢复活跃（监控器邮箱中的命令）、检测到系统时间跳变（手动改时间、休眠唤醒）时整体重建
+ * 截止时刻按系统时间（epoch 毫秒）记录：
+ * - 夏令时切换的瞬间墙上时钟前跳或回拨，可能越过任意区域的边界，到点时整体重建
+ * - 执行器按单调时钟计时，感知不到系统时间的跳变，所以每次最多等 MAX_SLEEP_MILLIS，醒来时比较两种时钟走过的时间
+ * 堆和监控器的区域状态只在执行器线程中访问（基准测试直接调用 advance 时除外）
+ */
+final class TriggerScheduler {
+
+    // 单次等待的上限：系统时间跳变后最迟这么久发现
+    private static final long MAX_SLEEP_MILLIS = 60_000;
+    // 系统时间与单调时钟走过的时间相差超过该值视为跳变
+    private static final long JUMP_TOLERANCE_MILLIS = 2_000;
+
+    /**
+     * 堆中的一项
+     * @param time 需要检测的时刻（epoch 毫秒）
+     * @param index 区域在索引中的原始顺序
+     */
+    private record Deadline(long time, int index) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline other) {
+            int c = Long.compare(time, other.time);
+            return c != 0 ? c : Integer.compare(index, other.index);
+        }
+    }
+
+    private final TimeRangeMonitor monitor;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>();
+    // 堆对应的区域索引：与监控器当前的索引不同时重建
+    private HighlightSchedule schedule = null;
+    private boolean rebuildRequested = false;
+    // 时区下一次切换时刻（夏令时），没有时为 Long.MAX_VALUE
+    private long nextTransition = Long.MIN_VALUE;
+    // 同一时刻到期的区域，按原始顺序处理（与逐个扫描时的触发顺序一致）
+    private int[] due = new int[16];
+
+    // 调度状态只在执行器线程中访问
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> pending = null;
+    private long lastWall;
+    private long lastNanos;
+
+    private volatile boolean running = false;
+
+    /**
+     * @param executor 执行检测的单线程执行器（与提示音共用，由监控器持有和关闭）
+     */
+    TriggerScheduler(TimeRangeMonitor monitor, ScheduledExecutorService executor) {
+        this.monitor = monitor;
+        this.executor = executor;
+    }
+
+    void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lastWall = System.currentTimeMillis();
+        lastNanos = System.nanoTime();
+        executor.execute(this::tick);
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * 下一次检测时重建全部时刻（用户恢复活跃时，由监控器在执行器线程中调用）
+     */
+    void requestRebuild() {
+        rebuildRequested = true;
+    }
+
+    /**
+     * 在执行器线程中执行：处理到期的区域，再按下一个截止时刻重新安排自己
+     * 监控器处理完邮箱中的命令后也直接调用，提前检测并取消原来安排的检测
+     */
+    void tick() {
+        if (pending != null) {
+            // 提前唤醒时取消原来安排的检测
+            pending.cancel(false);
+            pending = null;
+        }
+        if (!running) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long nanos = System.nanoTime();
+        long drift = (now - lastWall) - (nanos - lastNanos) / 1_000_000L;
+        lastWall = now;
+        lastNanos = nanos;
+        if (Math.abs(drift) > JUMP_TOLERANCE_MILLIS) {
+            rebuildRequested = true;
+        }
+
+        long next = Long.MAX_VALUE;
+        try {
+            // 先按最新的索引和时区重建，再用重建后的队首判断是否有到期的区域
+            ZonedDateTime time = refresh(now);
+            if (peek() <= now && !monitor.isUserActive()) {
+                // 用户不活跃（可能锁屏或离开）时暂不提醒，恢复活跃后由监控器重建并补发
+                next = Long.MAX_VALUE;
+            } else {
+                next = drain(now, time);
+            }
+        } catch (RuntimeException e) {
+            // 单次检测失败不影响之后的调度
+            System.err.println("触发检测失败: " + e.getMessage());
+            rebuildRequested = true;
+        }
+
+        long wait = Math.max(0, Math.min(next - now, MAX_SLEEP_MILLIS));
+        try {
+            pending = executor.schedule(this::tick, wait, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 执行器已关闭（程序退出中）
+        }
+    }
+
+    /**
+     * 处理 now 时刻（epoch 毫秒）及之前到期的区域，返回下一个需要检测的时刻，没有时返回 Long.MAX_VALUE
+     */
+    long advance(long now) {
+        return drain(now, refresh(now));
+    }
+
+    /**
+     * 索引变化、跨过时区转换或检测到时钟跳变时重建全部时刻，返回 now 对应的本地时间
+     */
+    private ZonedDateTime refresh(long now) {
+        ZonedDateTime time = ZonedDateTime.ofInstant(Instant.ofEpochMilli(now), zone);
+        HighlightSchedule current = monitor.getSchedule();
+        if (current != schedule) {
+            // 区域变化（进出状态已由监控器随索引重建）
+            schedule = current;
+            rebuildRequested = true;
+        }
+        if (now >= nextTransition) {
+            ZoneOffsetTransition transition = zone.getRules().nextTransition(time.toInstant());
+            nextTransition = transition != null ? transition.getInstant().toEpochMilli() : Long.MAX_VALUE;
+            rebuildRequested = true;
+        }
+        if (rebuildRequested) {
+            rebuildRequested = false;
+            rebuild(time);
+        }
+        return time;
+    }
+
+    /**
+     * 检测已到期的区域并重新排入队列，返回下一个需要检测的时刻
+     */
+    private long drain(long now, ZonedDateTime time) {
+        int count = 0;
+        while (!queue.isEmpty() && queue.peek().time() <= now) {
+            if (count == due.length) {
+                due = Arrays.copyOf(due, count * 2);
+            }
+            due[count++] = queue.poll().index();
+        }
+        if (count > 0) {
+            Arrays.sort(due, 0, count);
+            int minutes = time.getHour() * 60 + time.getMinute();
+            for (int i = 0; i < count; i++) {
+                monitor.checkEntry(due[i], minutes, now);
+            }
+            for (int i = 0; i < count; i++) {
+                offer(due[i], time);
+            }
+        }
+        return Math.min(peek(), nextTransition);
+    }
+
+    private void rebuild(ZonedDateTime time) {
+        queue.clear();
+        for (int i = 0; i < schedule.size(); i++) {
+            offer(i, time);
+        }
+    }
+
+    private void offer(int index, ZonedDateTime time) {
+        long deadline = monitor.nextDeadline(index, time);
+        if (deadline != Long.MAX_VALUE) {
+            queue.offer(new Deadline(deadline, index));
+        }
+    }
+
+    private long peek() {
+        Deadline head = queue.peek();
+        return head != null ? head.time() : Long.MAX_VALUE;
+    }
+}
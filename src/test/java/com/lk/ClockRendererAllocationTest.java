@@ -0,0 +1,86 @@
+package com.lk;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 稳态绘制不分配对象：预热后连续绘制若干帧，统计当前线程分配的字节数
+ * - RASTER 方式：绘制资源（颜色、笔画、字体）、指针包围盒、当前区域贴图都在帧之间复用，总分配应接近 0
+ * - 默认方式（STROKE）：每帧经过 Java2D 的描边管线，管线内部会创建临时的变换和路径迭代器（实测约 600 字节/帧），
+ *   按每帧预算限制，退回 SPRITE 等分配更多的方式或每帧多出几个对象时这里会失败
+ */
+class ClockRendererAllocationTest {
+
+    private static final int WARMUP_ROUNDS = 100;
+    private static final int FRAMES = 600;
+    // RASTER 允许的总分配量：只容纳 JIT 等偶发分配，每帧哪怕多分配一个小对象也会超出
+    private static final long ALLOCATION_BUDGET = 2 * 1024;
+    // 默认方式每帧允许的分配量：Java2D 描边管线的内部分配加少量余量（SPRITE 约 2KB/帧）
+    private static final long DEFAULT_MODE_FRAME_BUDGET = 768;
+
+    @Test
+    void steadyStateFramesDoNotAllocate() {
+        ClockRenderer renderer = new ClockRenderer(new ClockConfig());
+        renderer.setHandRenderMode(ClockRenderer.HandRenderMode.RASTER);
+        long allocated = allocatedBytes(renderer);
+        assertTrue(allocated <= ALLOCATION_BUDGET,
+                FRAMES + " 帧分配了 " + allocated + " 字节（上限 " + ALLOCATION_BUDGET + "）");
+    }
+
+    @Test
+    void defaultModeStaysWithinFrameBudget() {
+        ClockRenderer renderer = new ClockRenderer(new ClockConfig());
+        assertEquals(ClockRenderer.HandRenderMode.STROKE, renderer.getHandRenderMode());
+        long allocated = allocatedBytes(renderer);
+        long budget = DEFAULT_MODE_FRAME_BUDGET * FRAMES;
+        assertTrue(allocated <= budget,
+                FRAMES + " 帧分配了 " + allocated + " 字节（每帧 " + allocated / FRAMES
+                        + "，上限 " + DEFAULT_MODE_FRAME_BUDGET + "）");
+    }
+
+    /**
+     * 预热后连续绘制 FRAMES 帧（含指针包围盒查询），返回当前线程分配的字节数
+     */
+    private static long allocatedBytes(ClockRenderer renderer) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM 不支持按线程统计分配");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        int size = renderer.getClockSize();
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+
+        // 默认区域 9:00-11:38 内同一分钟逐秒走动：当前区域每帧动态绘制，静态图层保持命中
+        LocalTime[] times = new LocalTime[60];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = LocalTime.of(10, 8, i);
+        }
+        try {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                for (LocalTime time : times) {
+                    renderer.paint(g2d, time);
+                    renderer.getHandBounds(time);
+                }
+            }
+
+            long threadId = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int frame = 0; frame < FRAMES; frame++) {
+                LocalTime time = times[frame % times.length];
+                renderer.paint(g2d, time);
+                renderer.getHandBounds(time);
+            }
+            return threads.getThreadAllocatedBytes(threadId) - before;
+        } finally {
+            g2d.dispose();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.lk;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 整盘像素回归：固定时刻、缩放和悬停状态下 renderImage 的结果与 src/test/resources/golden 中的 PNG 对比
+ * - 指针固定用 STROKE 方式（其他方式与 STROKE 的差异由 HandRasterizerTest 覆盖）
+ * - 不绘制区域标签：标签是中文，缺少中文字体的环境画出的是方框
+ * - 容差只吸收抗锯齿和字体光栅化的细微差异；换了字体或渲染管线的环境需要重新生成基准图
+ * - 有意修改表盘外观后用 -Dgolden.update=true 运行本测试重新生成 PNG，并检查新图后一起提交
+ */
+class GoldenImageTest {
+
+    private static final String RESOURCE_DIR = "golden";
+    private static final String SOURCE_DIR = "src/test/resources/" + RESOURCE_DIR;
+
+    /**
+     * @param hoveredIndex 悬停的区域在默认配置中的序号，-1 表示不悬停
+     */
+    private record Case(String name, LocalTime time, float scale, int hoveredIndex) {}
+
+    private static final Case[] CASES = {
+            // 处在上午区域内（当前区域动态绘制），不悬停
+            new Case("morning-1x", LocalTime.of(10, 8, 30), 1f, -1),
+            // 处在下午区域内，悬停午休区域（放大的环和标签位置）
+            new Case("afternoon-hover-1_5x", LocalTime.of(15, 42, 10), 1.5f, 1),
+            // 不在任何区域内，小尺寸（低细节层级），悬停下午区域
+            new Case("evening-hover-0_75x", LocalTime.of(19, 20, 45), 0.75f, 2),
+            // 大尺寸（高细节层级），指针重叠在 12 点附近
+            new Case("midnight-2x", LocalTime.of(0, 0, 5), 2f, -1)
+    };
+
+    // 每个通道的平均差异上限（0-255）
+    private static final double MEAN_TOLERANCE = 0.5;
+    // 明显不同的像素：任一通道差异超过该值
+    private static final int PIXEL_TOLERANCE = 32;
+    // 明显不同的像素占比上限：1 倍缩放下约 20 个像素，分针短 2 像素时约 80 个像素不同
+    private static final double DIFFERENT_PIXEL_RATIO = 0.0005;
+
+    @Test
+    void renderMatchesGoldenImages() throws IOException {
+        boolean update = Boolean.getBoolean("golden.update");
+        for (Case c : CASES) {
+            BufferedImage actual = render(c);
+            String file = c.name() + ".png";
+            if (update) {
+                File target = new File(SOURCE_DIR, file);
+                target.getParentFile().mkdirs();
+                ImageIO.write(actual, "png", target);
+                continue;
+            }
+
+            BufferedImage expected;
+            try (InputStream in = GoldenImageTest.class.getResourceAsStream("/" + RESOURCE_DIR + "/" + file)) {
+                assertNotNull(in, "缺少基准图 " + file + "，用 -Dgolden.update=true 生成");
+                expected = ImageIO.read(in);
+            }
+            assertEquals(expected.getWidth(), actual.getWidth(), c.name() + " 宽度");
+            assertEquals(expected.getHeight(), actual.getHeight(), c.name() + " 高度");
+
+            long sum = 0;
+            int different = 0;
+            for (int y = 0; y < actual.getHeight(); y++) {
+                for (int x = 0; x < actual.getWidth(); x++) {
+                    int a = expected.getRGB(x, y);
+                    int b = actual.getRGB(x, y);
+                    int max = 0;
+                    for (int shift = 0; shift < 32; shift += 8) {
+                        int d = Math.abs(((a >>> shift) & 0xFF) - ((b >>> shift) & 0xFF));
+                        sum += d;
+                        max = Math.max(max, d);
+                    }
+                    if (max > PIXEL_TOLERANCE) {
+                        different++;
+                    }
+                }
+            }
+            int pixels = actual.getWidth() * actual.getHeight();
+            double mean = (double) sum / (4L * pixels);
+            double ratio = (double) different / pixels;
+            assertTrue(mean <= MEAN_TOLERANCE, c.name() + " 平均差异 " + mean);
+            assertTrue(ratio <= DIFFERENT_PIXEL_RATIO, c.name() + " 明显不同的像素 " + different + "/" + pixels);
+        }
+    }
+
+    private static BufferedImage render(Case c) {
+        ClockRenderer renderer = new ClockRenderer(new ClockConfig());
+        renderer.setHandRenderMode(ClockRenderer.HandRenderMode.STROKE);
+        renderer.setShowLabels(false);
+        renderer.setScale(c.scale());
+        if (c.hoveredIndex() >= 0) {
+            renderer.setHoveredSetting(renderer.getHighlightAreas().get(c.hoveredIndex()));
+        }
+        return renderer.renderImage(c.time());
+    }
+}
@@ -0,0 +1,77 @@
+package com.lk;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RASTER 方式与 STROKE 方式的像素对比：同一缩放、时刻、绘制策略下，指针区域内的逐通道差异不超过容差
+ * - 两种方式画在同一个表盘上（静态图层相同），只比较指针包围盒内的像素
+ * - 平均差异限制整体的覆盖率和颜色，最大差异限制单个像素（指针长度、端点错位时边缘像素相差接近 255）
+ * - 不测缩放 0.5：秒针宽度取整为 0，Java2D 几乎画不出来，光栅化有意保留 1 像素宽
+ */
+class HandRasterizerTest {
+
+    private static final float[] SCALES = {0.75f, 1f, 1.5f, 2f};
+    private static final LocalTime[] TIMES = {
+            LocalTime.of(0, 0, 0), LocalTime.of(3, 15, 30), LocalTime.of(10, 8, 42),
+            LocalTime.of(13, 47, 7), LocalTime.of(18, 30, 15), LocalTime.of(21, 52, 58)
+    };
+    // 指针区域内每个通道的平均差异上限（0-255）
+    private static final double MEAN_TOLERANCE = 1.0;
+    // 单个像素单个通道的差异上限（0-255）：两种抗锯齿的覆盖率估计在边缘上的差别
+    private static final int MAX_TOLERANCE = 48;
+
+    @Test
+    void rasterMatchesStrokeWithinTolerance() {
+        for (RenderScheduler.RenderPolicy policy : RenderScheduler.RenderPolicy.values()) {
+            for (float scale : SCALES) {
+                ClockRenderer renderer = new ClockRenderer(new ClockConfig());
+                renderer.setScale(scale);
+                renderer.setRenderPolicy(policy);
+                for (LocalTime time : TIMES) {
+                    BufferedImage stroke = render(renderer, ClockRenderer.HandRenderMode.STROKE, time);
+                    BufferedImage raster = render(renderer, ClockRenderer.HandRenderMode.RASTER, time);
+                    Rectangle bounds = renderer.getHandBounds(time)
+                            .intersection(new Rectangle(0, 0, stroke.getWidth(), stroke.getHeight()));
+
+                    long sum = 0;
+                    int max = 0;
+                    for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
+                        for (int x = bounds.x; x < bounds.x + bounds.width; x++) {
+                            int a = stroke.getRGB(x, y);
+                            int b = raster.getRGB(x, y);
+                            for (int shift = 0; shift < 32; shift += 8) {
+                                int d = Math.abs(((a >>> shift) & 0xFF) - ((b >>> shift) & 0xFF));
+                                sum += d;
+                                max = Math.max(max, d);
+                            }
+                        }
+                    }
+                    double mean = (double) sum / (4L * bounds.width * bounds.height);
+                    String where = policy + " 缩放 " + scale + " " + time;
+                    assertTrue(mean <= MEAN_TOLERANCE, where + " 平均差异 " + mean);
+                    assertTrue(max <= MAX_TOLERANCE, where + " 最大差异 " + max);
+                }
+            }
+        }
+    }
+
+    private static BufferedImage render(ClockRenderer renderer, ClockRenderer.HandRenderMode mode, LocalTime time) {
+        renderer.setHandRenderMode(mode);
+        int size = renderer.getClockSize();
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            renderer.paint(g2d, time);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,138 @@
+package com.lk;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.awt.EventQueue;
+import java.awt.Point;
+import java.awt.Toolkit;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 输入合并：向真实的时钟面板连续投递鼠标拖动、移动和滚轮事件（远高于帧率），
+ * 窗口移动（原生 setLocation）、缩放和重绘的每秒次数都不超过帧率，最终结果与最后一个事件一致
+ * - 面板不放进窗口（无头环境），覆盖窗口移动、缩放两个出口和 repaint 统计调用次数
+ * - 悬停在高亮区域和表盘中心之间交替，每次悬停变化都会请求重绘
+ */
+class InputCoalescerTest {
+
+    // 投递时长：约 1000Hz 回报率持续 1 秒
+    private static final long BURST_MILLIS = 1000;
+    // 帧率（每秒提交次数的上限）
+    private static final double FRAME_RATE = 1000.0 / InputCoalescer.FRAME_INTERVAL_MS;
+    // 每秒次数的余量：松开时提前提交一次，加上计时误差
+    private static final double RATE_SLACK = 3;
+    // 同一种提交的最小间隔：一帧，留 1ms 计时误差
+    private static final long MIN_GAP_NANOS = (InputCoalescer.FRAME_INTERVAL_MS - 1) * 1_000_000L;
+
+    @Test
+    void burstCommitsAtMostOncePerFrame() throws Exception {
+        List<Long> moves = new ArrayList<>();
+        List<Long> zooms = new ArrayList<>();
+        int[] repaints = new int[1];
+        int[] lastMove = new int[2];
+        int[] zoomSteps = new int[1];
+
+        AnalogClock.ClockPanel[] panel = new AnalogClock.ClockPanel[1];
+        SwingUtilities.invokeAndWait(() -> panel[0] = new AnalogClock.ClockPanel(new ClockConfig()) {
+            @Override
+            void moveWindow(int x, int y) {
+                moves.add(System.nanoTime());
+                lastMove[0] = x;
+                lastMove[1] = y;
+            }
+
+            @Override
+            void zoomWindow(int steps, int x, int y) {
+                zooms.add(System.nanoTime());
+                zoomSteps[0] += steps;
+            }
+
+            @Override
+            public void repaint(long tm, int x, int y, int width, int height) {
+                repaints[0]++;
+                super.repaint(tm, x, y, width, height);
+            }
+        });
+        AnalogClock.ClockPanel target = panel[0];
+        ClockRenderer renderer = target.getRenderer();
+        int size = renderer.getClockSize();
+        target.setSize(size, size);
+
+        // 悬停的两个位置：某个高亮区域上、表盘中心（不在任何区域上）
+        Point area = null;
+        for (int y = 0; y < size && area == null; y += 2) {
+            for (int x = 0; x < size && area == null; x += 2) {
+                if (renderer.findHighlightSettingAt(x, y) != null) {
+                    area = new Point(x, y);
+                }
+            }
+        }
+        assertNotNull(area, "默认配置中找不到高亮区域");
+        Point center = new Point(size / 2, size / 2);
+        SwingUtilities.invokeAndWait(() -> repaints[0] = 0);
+
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        int events = 0;
+        int wheelSteps = 0;
+        int x = 0;
+        Point hover = center;
+        long start = System.nanoTime();
+        long end = start + BURST_MILLIS * 1_000_000L;
+        while (System.nanoTime() < end) {
+            x++;
+            long when = System.currentTimeMillis();
+            queue.postEvent(new MouseEvent(target, MouseEvent.MOUSE_DRAGGED, when, MouseEvent.BUTTON1_DOWN_MASK,
+                    x, x, 1000 + x, 2000 + x, 0, false, MouseEvent.NOBUTTON));
+            hover = x % 2 == 0 ? area : center;
+            queue.postEvent(new MouseEvent(target, MouseEvent.MOUSE_MOVED, when, 0,
+                    hover.x, hover.y, 0, 0, 0, false, MouseEvent.NOBUTTON));
+            int rotation = x % 3 == 0 ? 1 : -1;
+            queue.postEvent(new MouseWheelEvent(target, MouseEvent.MOUSE_WHEEL, when, 0,
+                    x, x, 1000 + x, 2000 + x, 0, false, MouseWheelEvent.WHEEL_UNIT_SCROLL, 3, rotation));
+            wheelSteps += rotation < 0 ? 1 : -1;
+            events += 3;
+            Thread.sleep(1);
+        }
+        // 帧中途松开：立即提交剩余的输入
+        queue.postEvent(new MouseEvent(target, MouseEvent.MOUSE_RELEASED, System.currentTimeMillis(), 0,
+                x, x, 1000 + x, 2000 + x, 1, false, MouseEvent.BUTTON1));
+        int[] repaintCount = new int[1];
+        SwingUtilities.invokeAndWait(() -> repaintCount[0] = repaints[0]);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // 最终结果与最后一个事件一致，滚轮档数不丢失
+        assertEquals(1000 + x, lastMove[0]);
+        assertEquals(2000 + x, lastMove[1]);
+        assertSame(renderer.findHighlightSettingAt(hover.x, hover.y), renderer.getHoveredSetting());
+        assertEquals(wheelSteps, zoomSteps[0]);
+
+        // 事件远多于帧数，窗口移动、缩放和重绘的每秒次数都不超过帧率
+        double eventRate = events / seconds;
+        assertTrue(eventRate >= FRAME_RATE * 5, "每秒只投递了 " + eventRate + " 个事件");
+        assertTrue(repaintCount[0] > 0, "悬停变化没有请求重绘");
+        assertRate("setLocation", moves.size(), seconds);
+        assertRate("缩放", zooms.size(), seconds);
+        assertRate("重绘", repaintCount[0], seconds);
+        for (List<Long> commits : List.of(moves, zooms)) {
+            for (int i = 1; i < commits.size() - 1; i++) {
+                long gap = commits.get(i) - commits.get(i - 1);
+                assertTrue(gap >= MIN_GAP_NANOS, "同一帧内提交了两次，间隔 " + gap / 1000 + "us");
+            }
+        }
+    }
+
+    private static void assertRate(String what, int count, double seconds) {
+        double rate = count / seconds;
+        assertTrue(rate <= FRAME_RATE + RATE_SLACK,
+                what + " 每秒 " + String.format("%.1f", rate) + " 次（帧率 " + FRAME_RATE + "）");
+    }
+}